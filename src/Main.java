@@ -1,8 +1,20 @@
+import algorithms.Benchmark;
+import server.SolveServer;
 import ui.AppWindow;
 import javax.swing.*;
+import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--serve")) {
+            SolveServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bench")) {
+            Benchmark.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         System.setProperty("sun.java2d.opengl", "true");
         
         try {
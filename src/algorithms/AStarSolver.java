@@ -2,21 +2,65 @@ package algorithms;
 
 import models.Cell;
 import models.Maze;
+import utils.SolverEvents;
 
 import java.util.*;
 
 public class AStarSolver implements PathSolver {
 
+    private SearchStats stats;
+    private int landmarkCount;
+    private LandmarkHeuristic landmarks;
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    public void useLandmarks(int count) {
+        this.landmarkCount = count;
+        if (count <= 0) this.landmarks = null;
+    }
+
+    public void setLandmarks(LandmarkHeuristic landmarks) {
+        this.landmarks = landmarks;
+        this.landmarkCount = landmarks == null ? 0 : landmarks.landmarkCount();
+    }
+
     @Override
     public String getName() {
-        return "A* Search";
+        return landmarkCount > 0 ? "A* Search (ALT)" : "A* Search";
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long cells = (long) rows * cols;
+        long bytes = 2 * Footprint.intGrid(rows, cols) + Footprint.ints(cells) + Footprint.heap(cells, 4);
+        // Landmark tables: one forward and one backward distance array per landmark, built on first use.
+        if (landmarkCount > 0) bytes += (2L * landmarkCount + 1) * Footprint.ints(cells);
+        return bytes;
     }
 
     @Override
     public List<Cell> solve(Maze maze) {
+        SearchStats st = stats;
+        long startTime = System.nanoTime();
+        if (st != null) st.reset(maze.rows, maze.cols);
+        long cells = (long) maze.rows * maze.cols;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
+
+        // Landmark tables depend only on the maze, so they are rebuilt only when the maze changes.
+        if (landmarkCount > 0 && (landmarks == null || landmarks.maze != maze)) {
+            landmarks = LandmarkHeuristic.build(maze, landmarkCount);
+        }
+
         int[][] gScore = new int[maze.rows][maze.cols];
         int[][] fScore = new int[maze.rows][maze.cols];
-        Cell[][] parent = new Cell[maze.rows][maze.cols];
+        int[] parent = new int[maze.rows * maze.cols];
 
         for (int r = 0; r < maze.rows; r++) {
             Arrays.fill(gScore[r], Integer.MAX_VALUE);
@@ -30,14 +74,29 @@ public class AStarSolver implements PathSolver {
         Cell goal = maze.goal;
 
         gScore[start.row][start.col] = 0;
+        parent[start.row * maze.cols + start.col] = PathUtils.NO_PARENT;
         fScore[start.row][start.col] = heuristic(start, goal);
         pq.add(start);
+        if (st != null) st.heapPushes++;
+        phase.finish(cells, 0);
 
+        phase = SolverEvents.phase(getName(), "search");
+        long expanded = 0;
         while (!pq.isEmpty()) {
             Cell current = pq.poll();
+            expanded++;
+            if (st != null) {
+                st.heapPops++;
+                st.expand(current.row, current.col);
+            }
 
             if (current == goal) {
-                return reconstructPath(parent, goal);
+                phase.finish(cells, expanded);
+                if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+                int[] path = PathUtils.fromParents(parent, goal.row * maze.cols + goal.col);
+                reconstruction.finish(path.length);
+                return new GridPath(maze, path, path.length, maze.cols, 0);
             }
 
             int[] dRow = {-1, 1, 0, 0};
@@ -52,31 +111,30 @@ public class AStarSolver implements PathSolver {
                     int tentativeG = gScore[current.row][current.col] + neighbor.weight;
 
                     if (tentativeG < gScore[newR][newC]) {
-                        parent[newR][newC] = current;
+                        parent[newR * maze.cols + newC] = current.row * maze.cols + current.col;
                         gScore[newR][newC] = tentativeG;
                         fScore[newR][newC] = tentativeG + heuristic(neighbor, goal);
 
-                        pq.remove(neighbor);
+                        boolean queued = pq.remove(neighbor);
                         pq.add(neighbor);
+                        if (st != null) {
+                            st.relaxations++;
+                            st.heapPushes++;
+                            if (queued) st.decreaseKeys++;
+                            st.frontier(pq.size());
+                        }
                     }
                 }
             }
         }
 
-        return new ArrayList<>();
+        phase.finish(cells, expanded);
+        if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return GridPath.empty(maze);
     }
 
     private int heuristic(Cell a, Cell b) {
+        if (landmarks != null) return landmarks.estimate(a, b);
         return Math.abs(a.row - b.row) + Math.abs(a.col - b.col);
     }
-
-    private List<Cell> reconstructPath(Cell[][] parent, Cell current) {
-        List<Cell> path = new ArrayList<>();
-        while (current != null) {
-            path.add(current);
-            current = parent[current.row][current.col];
-        }
-        Collections.reverse(path);
-        return path;
-    }
 }
@@ -0,0 +1,277 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.SolverEvents;
+
+import java.util.*;
+
+// ARA*: repeated weighted A* with a shrinking inflation factor that reuses g-values between iterations.
+public class AnytimeSolver implements PathSolver {
+
+    public interface SolutionListener {
+        void onSolution(List<Cell> path, int cost, double bound);
+    }
+
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private static final byte NEW = 0;
+    private static final byte OPEN = 1;
+    private static final byte CLOSED = 2;
+    private static final byte INCONS = 3;
+
+    private long deadlineMillis = 200;
+    private double initialEpsilon = 3.0;
+    private double epsilonStep = 0.5;
+    private LandmarkHeuristic landmarks;
+    private SolutionListener listener;
+    private SearchStats stats;
+
+    private double achievedBound = Double.NaN;
+
+    public void setDeadlineMillis(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public void setEpsilon(double initialEpsilon, double epsilonStep) {
+        this.initialEpsilon = Math.max(1.0, initialEpsilon);
+        this.epsilonStep = Math.max(0.01, epsilonStep);
+    }
+
+    public void setLandmarks(LandmarkHeuristic landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    public void setListener(SolutionListener listener) {
+        this.listener = listener;
+    }
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    // Suboptimality bound of the last returned path: its cost is at most bound * optimal.
+    public double getAchievedBound() {
+        return achievedBound;
+    }
+
+    @Override
+    public String getName() {
+        return String.format("ARA* (Anytime, %d ms)", deadlineMillis);
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long size = Footprint.padded(rows, cols);
+        // The open list is rebuilt into a second heap each time epsilon drops.
+        return 4 * Footprint.ints(size) + Footprint.bytes(size) + 2 * Footprint.heap(size, 8);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return getName() + "|eps=" + initialEpsilon + "/" + epsilonStep + "|alt=" + (landmarks != null);
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        SearchStats st = stats;
+        long startTime = System.nanoTime();
+        long deadline = startTime + deadlineMillis * 1_000_000L;
+        if (st != null) st.reset(maze.rows, maze.cols);
+        achievedBound = Double.NaN;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
+
+        int paddedCols = maze.cols + 2;
+        int size = (maze.rows + 2) * paddedCols;
+        int[] weightMap = new int[size];
+        Arrays.fill(weightMap, -1);
+        int minWeight = INF;
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                Cell cell = maze.grid[r][c];
+                if (cell.isWall) continue;
+                weightMap[(r + 1) * paddedCols + (c + 1)] = cell.weight;
+                if (!cell.isStart && !cell.isGoal) minWeight = Math.min(minWeight, cell.weight);
+            }
+        }
+        if (minWeight == INF) minWeight = 0;
+
+        int startIdx = (maze.start.row + 1) * paddedCols + (maze.start.col + 1);
+        int goalIdx = (maze.goal.row + 1) * paddedCols + (maze.goal.col + 1);
+        int[] offsets = {-paddedCols, paddedCols, -1, 1};
+
+        int[] h = new int[size];
+        int gr = maze.goal.row, gc = maze.goal.col;
+        LandmarkHeuristic lm = landmarks != null && landmarks.maze == maze ? landmarks : null;
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                int idx = (r + 1) * paddedCols + (c + 1);
+                if (weightMap[idx] < 0) continue;
+                // Start and goal may weigh less than minWeight, so two steps of the Manhattan bound are dropped.
+                int manhattan = Math.abs(r - gr) + Math.abs(c - gc);
+                int bound = Math.max(0, manhattan - 2) * minWeight;
+                if (lm != null) bound = Math.max(bound, lm.estimate(maze.grid[r][c], maze.goal));
+                h[idx] = bound;
+            }
+        }
+
+        int[] g = new int[size];
+        int[] parent = new int[size];
+        byte[] state = new byte[size];
+        Arrays.fill(g, INF);
+        g[startIdx] = 0;
+        parent[startIdx] = PathUtils.NO_PARENT;
+
+        LongMinHeap open = new LongMinHeap();
+        int[] incons = new int[64];
+        int inconsSize = 0;
+
+        double eps = initialEpsilon;
+        open.push(LongMinHeap.pack(key(0, h[startIdx], eps), startIdx));
+        state[startIdx] = OPEN;
+
+        List<Cell> best = GridPath.empty(maze);
+        int expansions = 0;
+        phase.finish((long) maze.rows * maze.cols, 0);
+
+        while (true) {
+            // ImprovePath: expand until no queued state can beat the goal under the current inflation.
+            phase = SolverEvents.phase(getName(), "improve");
+            long expanded = 0;
+            boolean timedOut = false;
+            while (!open.isEmpty()) {
+                long entry = open.peek();
+                int s = LongMinHeap.node(entry);
+                if (state[s] != OPEN || LongMinHeap.priority(entry) != key(g[s], h[s], eps)) {
+                    open.pop();
+                    continue;
+                }
+                if (g[goalIdx] != INF && key(g[goalIdx], 0, eps) <= LongMinHeap.priority(entry)) break;
+                if (!best.isEmpty() && ++expansions % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break;
+                }
+
+                open.pop();
+                state[s] = CLOSED;
+                expanded++;
+                if (st != null) {
+                    st.heapPops++;
+                    st.expand(s / paddedCols - 1, s % paddedCols - 1);
+                }
+
+                for (int offset : offsets) {
+                    int v = s + offset;
+                    int w = weightMap[v];
+                    if (w < 0) continue;
+                    int ng = g[s] + w;
+                    if (ng >= g[v]) continue;
+                    g[v] = ng;
+                    parent[v] = s;
+                    if (st != null) st.relaxations++;
+                    if (state[v] == CLOSED || state[v] == INCONS) {
+                        if (state[v] == CLOSED) {
+                            if (inconsSize == incons.length) incons = Arrays.copyOf(incons, inconsSize * 2);
+                            incons[inconsSize++] = v;
+                        }
+                        state[v] = INCONS;
+                    } else {
+                        state[v] = OPEN;
+                        open.push(LongMinHeap.pack(key(ng, h[v], eps), v));
+                        if (st != null) {
+                            st.heapPushes++;
+                            st.frontier(open.size());
+                        }
+                    }
+                }
+            }
+
+            phase.finish((long) maze.rows * maze.cols, expanded);
+
+            if (timedOut) {
+                // A partial iteration may already have improved the goal; the previous bound still holds for it.
+                if (g[goalIdx] < pathCost(best)) {
+                    best = buildPath(parent, goalIdx, paddedCols, maze);
+                    if (listener != null) listener.onSolution(best, g[goalIdx], achievedBound);
+                }
+                break;
+            }
+            if (g[goalIdx] == INF) break;
+
+            // The bound is the tighter of eps and cost / (lowest g + h still pending).
+            long minPending = Long.MAX_VALUE;
+            for (int i = 0; i < open.size(); i++) {
+                int s = LongMinHeap.node(open.get(i));
+                if (state[s] == OPEN) minPending = Math.min(minPending, (long) g[s] + h[s]);
+            }
+            for (int i = 0; i < inconsSize; i++) {
+                int s = incons[i];
+                if (state[s] == INCONS) minPending = Math.min(minPending, (long) g[s] + h[s]);
+            }
+            double bound = minPending == Long.MAX_VALUE || minPending >= g[goalIdx]
+                    ? 1.0 : Math.min(eps, g[goalIdx] / (double) Math.max(1, minPending));
+
+            if (best.isEmpty() || bound < achievedBound || g[goalIdx] < pathCost(best)) {
+                best = buildPath(parent, goalIdx, paddedCols, maze);
+                achievedBound = Math.max(1.0, bound);
+                if (listener != null) listener.onSolution(best, g[goalIdx], achievedBound);
+            }
+
+            if (eps <= 1.0 || achievedBound <= 1.0 || System.nanoTime() > deadline) break;
+
+            // Next iteration: tighten eps, move INCONS back to OPEN and re-key everything for the new eps.
+            eps = Math.max(1.0, eps - epsilonStep);
+            LongMinHeap next = new LongMinHeap(open.size() + inconsSize);
+            for (int i = 0; i < open.size(); i++) {
+                int s = LongMinHeap.node(open.get(i));
+                if (state[s] == OPEN) next.push(LongMinHeap.pack(key(g[s], h[s], eps), s));
+            }
+            for (int i = 0; i < inconsSize; i++) {
+                int s = incons[i];
+                if (state[s] == INCONS) {
+                    state[s] = OPEN;
+                    next.push(LongMinHeap.pack(key(g[s], h[s], eps), s));
+                }
+            }
+            inconsSize = 0;
+            for (int i = 0; i < size; i++) if (state[i] == CLOSED) state[i] = NEW;
+            open = next;
+        }
+
+        if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return best;
+    }
+
+    private static int key(int g, int h, double eps) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, g + (long) (eps * h));
+    }
+
+    private static int pathCost(List<Cell> path) {
+        int cost = 0;
+        for (Cell c : path) cost += c.weight;
+        return cost;
+    }
+
+    private List<Cell> buildPath(int[] parent, int goalIdx, int paddedCols, Maze maze) {
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        int[] path = PathUtils.fromParents(parent, goalIdx);
+        reconstruction.finish(path.length);
+        return new GridPath(maze, path, path.length, paddedCols, 1);
+    }
+}
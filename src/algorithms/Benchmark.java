@@ -0,0 +1,225 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.BenchmarkComparison;
+import utils.BenchmarkHistory;
+import utils.MazeHasher;
+import utils.MazeParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Command-line benchmark runner over the BenchmarkHistory store. Every sample is appended to the history
+// file, keyed by solver, settings, maze hash and machine, so a later build can be compared against it.
+//
+// Usage: Benchmark run <maze-file> [--solvers dijkstra,astar,...] [--runs N] [--warmup N] [--label L]
+//                      [--seed S] [--pop N] [--gen N] [--len N] [--history FILE]
+//        Benchmark import-jmh <results.json> [--label L] [--history FILE]
+//        Benchmark compare --candidate L [--baseline L] [--alpha A] [--min-change F] [--history FILE]
+// compare exits with status 1 when any time or cost regression is found. The baseline defaults to the label
+// recorded just before the candidate's first sample.
+public class Benchmark {
+
+    public static final String DEFAULT_HISTORY = System.getProperty("maze.bench.history", "benchmarks.tsv");
+
+    private static final String SOLVERS = "dijkstra,astar,alt,hpa,ara,delta,tiled,ga,ga2";
+
+    private int runs = 10;
+    private int warmup = 2;
+    private String label = BenchmarkHistory.DEFAULT_LABEL;
+    private long seed = 1;
+    private int pop = 2000, gen = 500, len = 3000;
+
+    public void setRuns(int runs) {
+        this.runs = Math.max(1, runs);
+    }
+
+    public void setWarmup(int warmup) {
+        this.warmup = Math.max(0, warmup);
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setGeneticSize(int pop, int gen, int len) {
+        this.pop = pop;
+        this.gen = gen;
+        this.len = len;
+    }
+
+    // Each run uses a fresh solver, so per-maze preprocessing (landmarks, HPA clusters) is part of every sample.
+    public List<BenchmarkHistory.Record> run(Maze maze, String solverId) {
+        long mazeHash = MazeHasher.hash(maze);
+        String machine = BenchmarkHistory.machineFingerprint();
+        List<BenchmarkHistory.Record> samples = new ArrayList<>();
+        for (int i = 0; i < warmup + runs; i++) {
+            PathSolver solver = createSolver(solverId);
+            long startTime = System.nanoTime();
+            List<Cell> path = solver.solve(maze);
+            double timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            if (i < warmup) continue;
+            samples.add(new BenchmarkHistory.Record(System.currentTimeMillis(), label, "cli", solver.getName(),
+                    solver.getConfigKey(), mazeHash, machine, timeMs, cost(path)));
+        }
+        return samples;
+    }
+
+    private PathSolver createSolver(String id) {
+        switch (id) {
+            case "dijkstra":
+                return new DijkstraSolver();
+            case "astar":
+                return new AStarSolver();
+            case "alt": {
+                AStarSolver alt = new AStarSolver();
+                alt.useLandmarks(8);
+                return alt;
+            }
+            case "hpa":
+                return new HierarchicalSolver();
+            case "ara": {
+                AnytimeSolver anytime = new AnytimeSolver();
+                anytime.setDeadlineMillis(200);
+                return anytime;
+            }
+            case "delta":
+                return new DeltaSteppingSolver();
+            case "tiled":
+                return new TiledDijkstraSolver();
+            case "ga": {
+                GeneticSolver ga = new GeneticSolver();
+                ga.setParameters(pop, gen, len, 0.03, 50);
+                ga.setSeed(seed);
+                return ga;
+            }
+            case "ga2": {
+                GeneticSolver2 ga2 = new GeneticSolver2();
+                ga2.setParameters(pop, gen, len, 0.03, 50);
+                ga2.setSeed(seed);
+                return ga2;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown solver: " + id + " (expected one of " + SOLVERS + ")");
+        }
+    }
+
+    // -1 when the path does not reach the goal.
+    private static long cost(List<Cell> path) {
+        if (path == null || path.isEmpty() || !path.get(path.size() - 1).isGoal) return -1;
+        long cost = 0;
+        for (Cell c : path) cost += c.weight;
+        return cost;
+    }
+
+    private static void printSummary(List<BenchmarkHistory.Record> samples) {
+        double[] times = samples.stream().mapToDouble(r -> r.timeMs).sorted().toArray();
+        BenchmarkHistory.Record first = samples.get(0);
+        System.out.printf("%-32s median %9.2f ms | min %9.2f | max %9.2f | cost %d | n %d%n", first.solver,
+                BenchmarkComparison.median(times), times[0], times[times.length - 1], first.cost, times.length);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) throw new IllegalArgumentException("Usage: Benchmark run|import-jmh|compare ...");
+        String command = args[0];
+        String[] rest = Arrays.copyOfRange(args, 1, args.length);
+        switch (command) {
+            case "run": runCommand(rest); break;
+            case "import-jmh": importCommand(rest); break;
+            case "compare": if (compareCommand(rest) > 0) System.exit(1); break;
+            default: throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    private static void runCommand(String[] args) throws IOException {
+        if (args.length < 1) throw new IllegalArgumentException("Usage: Benchmark run <maze-file> [options]");
+        Benchmark bench = new Benchmark();
+        String solvers = "dijkstra,astar,delta";
+        File history = new File(DEFAULT_HISTORY);
+        int pop = bench.pop, gen = bench.gen, len = bench.len;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--solvers": solvers = args[++i]; break;
+                case "--runs": bench.setRuns(Integer.parseInt(args[++i])); break;
+                case "--warmup": bench.setWarmup(Integer.parseInt(args[++i])); break;
+                case "--label": bench.setLabel(args[++i]); break;
+                case "--seed": bench.setSeed(Long.parseLong(args[++i])); break;
+                case "--pop": pop = Integer.parseInt(args[++i]); break;
+                case "--gen": gen = Integer.parseInt(args[++i]); break;
+                case "--len": len = Integer.parseInt(args[++i]); break;
+                case "--history": history = new File(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        bench.setGeneticSize(pop, gen, len);
+
+        Maze maze = MazeParser.parseMaze(new File(args[0]));
+        BenchmarkHistory store = new BenchmarkHistory(history);
+        System.out.printf("Machine %s: %s%n", BenchmarkHistory.machineFingerprint(), BenchmarkHistory.describeMachine());
+        for (String id : solvers.split(",")) {
+            List<BenchmarkHistory.Record> samples = bench.run(maze, id.trim());
+            store.append(samples);
+            printSummary(samples);
+        }
+        System.out.println("Appended to " + history + " as label " + bench.label);
+    }
+
+    private static void importCommand(String[] args) throws IOException {
+        if (args.length < 1) throw new IllegalArgumentException("Usage: Benchmark import-jmh <results.json> [options]");
+        String label = BenchmarkHistory.DEFAULT_LABEL;
+        File history = new File(DEFAULT_HISTORY);
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--label": label = args[++i]; break;
+                case "--history": history = new File(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        List<BenchmarkHistory.Record> samples = BenchmarkHistory.importJmh(new File(args[0]), label);
+        new BenchmarkHistory(history).append(samples);
+        System.out.printf("Imported %d JMH samples into %s as label %s%n", samples.size(), history, label);
+    }
+
+    // Returns the number of regressions.
+    private static int compareCommand(String[] args) throws IOException {
+        String baseline = null, candidate = null;
+        File history = new File(DEFAULT_HISTORY);
+        BenchmarkComparison comparison = new BenchmarkComparison();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline": baseline = args[++i]; break;
+                case "--candidate": candidate = args[++i]; break;
+                case "--alpha": comparison.setAlpha(Double.parseDouble(args[++i])); break;
+                case "--min-change": comparison.setMinChange(Double.parseDouble(args[++i])); break;
+                case "--history": history = new File(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (candidate == null) throw new IllegalArgumentException("compare needs --candidate <label>");
+
+        List<BenchmarkHistory.Record> records = new BenchmarkHistory(history).read();
+        if (baseline == null) baseline = BenchmarkComparison.previousLabel(records, candidate);
+        if (baseline == null) throw new IllegalArgumentException("No label recorded before " + candidate + "; pass --baseline");
+
+        List<BenchmarkComparison.Finding> findings = comparison.compare(records, baseline, candidate);
+        Map<BenchmarkComparison.Verdict, Integer> counts = new TreeMap<>();
+        System.out.printf("Comparing %s (candidate) against %s (baseline) from %s%n", candidate, baseline, history);
+        for (BenchmarkComparison.Finding f : findings) {
+            System.out.println(f);
+            counts.merge(f.verdict, 1, Integer::sum);
+        }
+        if (findings.isEmpty()) System.out.println("No benchmark was recorded under both labels on the same machine.");
+        System.out.println("Summary: " + counts);
+        return counts.getOrDefault(BenchmarkComparison.Verdict.REGRESSED, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Checks a solver's estimated footprint against a heap budget before it allocates anything, letting
+// tunable solvers shrink to fit, and measures the peak heap actually used across each solve. Wrap it
+// around a CachingSolver, not inside one: downsizing changes the GA's config key, which the cache reads first.
+public class BudgetedSolver implements PathSolver {
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .collect(Collectors.toList());
+
+    private final PathSolver delegate;
+    private final long budgetBytes;
+    private volatile long lastEstimate;
+    private volatile long lastPeak;
+
+    public BudgetedSolver(PathSolver delegate, long budgetBytes) {
+        this.delegate = delegate;
+        this.budgetBytes = budgetBytes;
+    }
+
+    // A share of the maximum heap (-Xmx).
+    public static long heapShare(double fraction) {
+        return (long) (Runtime.getRuntime().maxMemory() * fraction);
+    }
+
+    public PathSolver getDelegate() {
+        return delegate;
+    }
+
+    public long getBudget() {
+        return budgetBytes;
+    }
+
+    public long getLastEstimate() {
+        return lastEstimate;
+    }
+
+    // Growth of heap use over the last solve: the sum of each heap pool's peak, less what was in use before.
+    // Unlike the estimate it includes short-lived garbage not yet collected. The counters are JVM-wide, so
+    // solves running at the same time (races, the server) inflate each other's.
+    public long getLastPeak() {
+        return lastPeak;
+    }
+
+    public String footprintLine() {
+        return String.format("Memory: estimated %s | peak heap +%s | budget %s", Footprint.format(lastEstimate),
+                Footprint.format(lastPeak), Footprint.format(budgetBytes));
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        if (!delegate.fitMemory(budgetBytes, maze.rows, maze.cols)) {
+            lastEstimate = delegate.estimateMemory(maze.rows, maze.cols);
+            lastPeak = 0;
+            throw new IllegalStateException(String.format("%s needs about %s for a %dx%d maze; budget is %s",
+                    delegate.getName(), Footprint.format(lastEstimate), maze.rows, maze.cols, Footprint.format(budgetBytes)));
+        }
+        lastEstimate = delegate.estimateMemory(maze.rows, maze.cols);
+
+        long before = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            before += pool.getUsage().getUsed();
+            pool.resetPeakUsage();
+        }
+        try {
+            return delegate.solve(maze);
+        } finally {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : HEAP_POOLS) peak += pool.getPeakUsage().getUsed();
+            lastPeak = Math.max(0, peak - before);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isExact() {
+        return delegate.isExact();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return delegate.isParallel();
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return delegate.getStats();
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        return delegate.estimateMemory(rows, cols);
+    }
+
+    @Override
+    public boolean fitMemory(long budgetBytes, int rows, int cols) {
+        return delegate.fitMemory(Math.min(budgetBytes, this.budgetBytes), rows, cols);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return delegate.getConfigKey();
+    }
+}
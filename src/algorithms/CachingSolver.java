@@ -0,0 +1,89 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.MazeHasher;
+import utils.SolveCache;
+
+import java.util.List;
+
+// Serves repeated solves of identical maze content and solver configuration from a SolveCache.
+public class CachingSolver implements PathSolver {
+
+    private final PathSolver delegate;
+    private final SolveCache cache;
+    private volatile boolean lastHit;
+
+    public CachingSolver(PathSolver delegate, SolveCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public PathSolver getDelegate() {
+        return delegate;
+    }
+
+    public boolean wasLastHit() {
+        return lastHit;
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        // The config key is read before solving so a concurrent settings change cannot mislabel the entry.
+        String key = SolveCache.key(MazeHasher.hash(maze), delegate.getConfigKey());
+        int[] cached = cache.get(key);
+        if (cached != null) {
+            lastHit = true;
+            return new GridPath(maze, cached, cached.length, maze.cols, 0);
+        }
+
+        lastHit = false;
+        List<Cell> path = delegate.solve(maze);
+        if (path instanceof GridPath) {
+            cache.put(key, ((GridPath) path).toRowMajor());
+        } else if (path != null) {
+            int[] packed = new int[path.size()];
+            for (int i = 0; i < packed.length; i++) {
+                Cell c = path.get(i);
+                packed[i] = c.row * maze.cols + c.col;
+            }
+            cache.put(key, packed);
+        }
+        return path;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isExact() {
+        return delegate.isExact();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return delegate.isParallel();
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return lastHit ? null : delegate.getStats();
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        return delegate.estimateMemory(rows, cols);
+    }
+
+    @Override
+    public boolean fitMemory(long budgetBytes, int rows, int cols) {
+        return delegate.fitMemory(budgetBytes, rows, cols);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return delegate.getConfigKey();
+    }
+}
@@ -0,0 +1,241 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.SolverEvents;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+public class DeltaSteppingSolver implements PathSolver {
+
+    private static final long UNREACHED = ((long) Integer.MAX_VALUE << 32) | 0xFFFFFFFFL;
+
+    private int userDelta = -1;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private SearchStats stats;
+
+    public void setDelta(int delta) {
+        this.userDelta = delta;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Delta-Stepping (Parallel)";
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long size = Footprint.padded(rows, cols);
+        // Buckets hold each cell about once per improvement; two entries per cell covers typical grids.
+        return 3 * Footprint.ints(size) + Footprint.longs(size) + 2 * Footprint.ints(size);
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        SearchStats st = stats;
+        long startTime = System.nanoTime();
+        if (st != null) st.reset(maze.rows, maze.cols);
+        long cells = (long) maze.rows * maze.cols;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
+
+        int paddedCols = maze.cols + 2;
+        int size = (maze.rows + 2) * paddedCols;
+        int[] weightMap = new int[size];
+        Arrays.fill(weightMap, -1);
+
+        long weightSum = 0;
+        int open = 0;
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                Cell cell = maze.grid[r][c];
+                if (!cell.isWall) {
+                    weightMap[(r + 1) * paddedCols + (c + 1)] = cell.weight;
+                    weightSum += cell.weight;
+                    open++;
+                }
+            }
+        }
+
+        int delta = userDelta > 0 ? userDelta : (int) Math.max(1, weightSum / Math.max(1, open));
+        int startIdx = (maze.start.row + 1) * paddedCols + (maze.start.col + 1);
+        int goalIdx = (maze.goal.row + 1) * paddedCols + (maze.goal.col + 1);
+        int[] offsets = {-paddedCols, paddedCols, -1, 1};
+
+        // Distance and parent share one long so a CAS keeps them consistent under concurrent relaxation.
+        AtomicLongArray state = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) state.lazySet(i, UNREACHED);
+        state.set(startIdx, pack(0, -1));
+
+        List<IntList> buckets = new ArrayList<>();
+        addToBucket(buckets, 0, startIdx);
+
+        int[] roundStamp = new int[size];
+        int[] settledStamp = new int[size];
+        int round = 0;
+        long expanded = 0;
+        phase.finish(cells, 0);
+
+        // Inside a race the solver shares the pool it was scheduled on instead of claiming every core.
+        boolean ownPool = !ForkJoinTask.inForkJoinPool();
+        ForkJoinPool pool = ownPool ? new ForkJoinPool(parallelism) : ForkJoinTask.getPool();
+        phase = SolverEvents.phase(getName(), "search");
+        try {
+            for (int b = 0; b < buckets.size(); b++) {
+                int goalDist = dist(state.get(goalIdx));
+                if (goalDist != Integer.MAX_VALUE && goalDist < (long) b * delta) break;
+
+                IntList settled = new IntList();
+                while (buckets.get(b) != null && buckets.get(b).size > 0) {
+                    IntList bucket = buckets.get(b);
+                    buckets.set(b, null);
+                    round++;
+
+                    // Drop stale entries (moved to an earlier bucket) and duplicates before relaxing.
+                    IntList frontier = new IntList();
+                    for (int i = 0; i < bucket.size; i++) {
+                        int v = bucket.data[i];
+                        if (roundStamp[v] == round || dist(state.get(v)) / delta != b) continue;
+                        roundStamp[v] = round;
+                        frontier.add(v);
+                        if (settledStamp[v] != b + 1) {
+                            settledStamp[v] = b + 1;
+                            settled.add(v);
+                        }
+                    }
+                    expanded += frontier.size;
+                    if (st != null) {
+                        st.heapPops += bucket.size;
+                        st.nodesExpanded += frontier.size;
+                    }
+
+                    IntList improved = relaxAll(pool, frontier, state, weightMap, offsets, delta, true);
+                    distribute(buckets, improved, state, delta, st);
+                }
+
+                IntList improved = relaxAll(pool, settled, state, weightMap, offsets, delta, false);
+                distribute(buckets, improved, state, delta, st);
+            }
+        } finally {
+            if (ownPool) pool.shutdown();
+        }
+        phase.finish(cells, expanded);
+
+        if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        if (dist(state.get(goalIdx)) == Integer.MAX_VALUE) return GridPath.empty(maze);
+
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        int[] path = PathUtils.fromParents(idx -> parent(state.get(idx)), goalIdx);
+        reconstruction.finish(path.length);
+        return new GridPath(maze, path, path.length, paddedCols, 1);
+    }
+
+    // Relaxes light (w <= delta) or heavy edges out of every frontier vertex in parallel.
+    private IntList relaxAll(ForkJoinPool pool, IntList frontier, AtomicLongArray state, int[] weights,
+                             int[] offsets, int delta, boolean light) {
+        IntList improved = new IntList(frontier.size * 4);
+        AtomicInteger count = new AtomicInteger();
+        int[] out = improved.data;
+
+        pool.submit(() -> IntStream.range(0, frontier.size).parallel().forEach(i ->
+                relaxFrom(frontier.data[i], state, weights, offsets, delta, light, out, count))).join();
+
+        improved.size = count.get();
+        return improved;
+    }
+
+    // Named rather than inlined in the lambda so profilers attribute relaxation time to it.
+    private static void relaxFrom(int u, AtomicLongArray state, int[] weights, int[] offsets, int delta, boolean light,
+                                  int[] out, AtomicInteger count) {
+        int du = dist(state.get(u));
+        for (int offset : offsets) {
+            int v = u + offset;
+            int w = weights[v];
+            if (w < 0 || (w <= delta) != light) continue;
+            if (tryRelax(state, v, du + w, u)) out[count.getAndIncrement()] = v;
+        }
+    }
+
+    private static boolean tryRelax(AtomicLongArray state, int v, int newDist, int parent) {
+        long next = pack(newDist, parent);
+        while (true) {
+            long cur = state.get(v);
+            if (dist(cur) <= newDist) return false;
+            if (state.compareAndSet(v, cur, next)) return true;
+        }
+    }
+
+    private static void distribute(List<IntList> buckets, IntList improved, AtomicLongArray state, int delta, SearchStats st) {
+        for (int i = 0; i < improved.size; i++) {
+            int v = improved.data[i];
+            addToBucket(buckets, dist(state.get(v)) / delta, v);
+        }
+        if (st != null) {
+            st.relaxations += improved.size;
+            st.heapPushes += improved.size;
+        }
+    }
+
+    private static void addToBucket(List<IntList> buckets, int b, int v) {
+        while (buckets.size() <= b) buckets.add(null);
+        IntList list = buckets.get(b);
+        if (list == null) {
+            list = new IntList();
+            buckets.set(b, list);
+        }
+        list.add(v);
+    }
+
+    private static long pack(int dist, int parent) {
+        return ((long) dist << 32) | (parent & 0xFFFFFFFFL);
+    }
+
+    private static int dist(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int parent(long packed) {
+        return (int) packed;
+    }
+
+    private static class IntList {
+        int[] data;
+        int size;
+
+        IntList() {
+            this(16);
+        }
+
+        IntList(int capacity) {
+            data = new int[Math.max(1, capacity)];
+        }
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+    }
+}
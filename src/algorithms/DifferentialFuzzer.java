@@ -0,0 +1,374 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import models.RunLengthGrid;
+import utils.MazeGenerator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Differential fuzzing of the exact solvers against DijkstraSolver. Each case is a seeded random maze
+// (size, generator mode, wall density, weight range); every exact solver must return a valid start-to-goal
+// path of the reference cost, or an empty path when the goal is unreachable. Failing cases are shrunk
+// greedily and written out in the MazeParser format. Approximate solvers are only checked for valid paths
+// that are no cheaper than the reference.
+//
+// Usage: DifferentialFuzzer [--cases N] [--seed S] [--max-size N] [--max-weight W] [--out DIR]
+public class DifferentialFuzzer {
+
+    private static final int SHRINK_ATTEMPTS = 2000;
+
+    private int cases = 2000;
+    private long seed = 1;
+    private int maxSize = 64;
+    private int maxWeight = 20;
+    private File outDir = new File("fuzz-failures");
+
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    private static final class Candidate {
+        final String name;
+        final Supplier<PathSolver> factory;
+        final boolean exact;
+
+        Candidate(String name, Supplier<PathSolver> factory) {
+            this.name = name;
+            this.factory = factory;
+            this.exact = factory.get().isExact();
+        }
+    }
+
+    // Grid form of a case: weights row-major with -1 for walls. Easy to copy and shrink.
+    private static final class Case {
+        final int rows, cols;
+        final int[] weights;
+        final int start, goal;
+
+        Case(int rows, int cols, int[] weights, int start, int goal) {
+            this.rows = rows;
+            this.cols = cols;
+            this.weights = weights;
+            this.start = start;
+            this.goal = goal;
+        }
+
+        Maze toMaze() {
+            Maze maze = new Maze(rows, cols);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Cell cell = new Cell(r, c);
+                    int w = weights[r * cols + c];
+                    if (w < 0) cell.isWall = true;
+                    else cell.weight = w;
+                    maze.grid[r][c] = cell;
+                }
+            }
+            maze.start = maze.grid[start / cols][start % cols];
+            maze.start.isStart = true;
+            maze.goal = maze.grid[goal / cols][goal % cols];
+            maze.goal.isGoal = true;
+            return maze;
+        }
+
+        static Case of(Maze maze) {
+            int[] weights = new int[maze.rows * maze.cols];
+            for (int r = 0; r < maze.rows; r++) {
+                for (int c = 0; c < maze.cols; c++) {
+                    Cell cell = maze.grid[r][c];
+                    weights[r * maze.cols + c] = cell.isWall ? -1 : cell.weight;
+                }
+            }
+            return new Case(maze.rows, maze.cols, weights,
+                    maze.start.row * maze.cols + maze.start.col, maze.goal.row * maze.cols + maze.goal.col);
+        }
+
+        // Drops one border row or column; null if that would remove the start or goal.
+        Case crop(int side) {
+            int r0 = side == 0 ? 1 : 0, c0 = side == 2 ? 1 : 0;
+            int nr = rows - (side < 2 ? 1 : 0), nc = cols - (side >= 2 ? 1 : 0);
+            if (nr < 1 || nc < 1) return null;
+            int sr = start / cols - r0, sc = start % cols - c0, gr = goal / cols - r0, gc = goal % cols - c0;
+            if (sr < 0 || sc < 0 || gr < 0 || gc < 0 || sr >= nr || sc >= nc || gr >= nr || gc >= nc) return null;
+            int[] w = new int[nr * nc];
+            for (int r = 0; r < nr; r++) {
+                System.arraycopy(weights, (r + r0) * cols + c0, w, r * nc, nc);
+            }
+            return new Case(nr, nc, w, sr * nc + sc, gr * nc + gc);
+        }
+
+        Case withCell(int index, int weight) {
+            int[] w = weights.clone();
+            w[index] = weight;
+            return new Case(rows, cols, w, start, goal);
+        }
+
+        String toText() {
+            StringBuilder sb = new StringBuilder();
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int i = r * cols + c;
+                    if (weights[i] < 0) sb.append('#');
+                    else if (i == start) sb.append('S');
+                    else if (i == goal) sb.append('G');
+                    else sb.append('"').append(weights[i]).append('"');
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    public DifferentialFuzzer() {
+        candidates.add(new Candidate("A*", AStarSolver::new));
+        candidates.add(new Candidate("A* (ALT)", () -> {
+            AStarSolver alt = new AStarSolver();
+            alt.useLandmarks(4);
+            return alt;
+        }));
+        candidates.add(new Candidate("Delta-Stepping", () -> {
+            DeltaSteppingSolver delta = new DeltaSteppingSolver();
+            delta.setParallelism(2);
+            return delta;
+        }));
+        candidates.add(new Candidate("Tiled Dijkstra", () -> {
+            TiledDijkstraSolver tiled = new TiledDijkstraSolver();
+            tiled.setTileSize(16);
+            tiled.setResidentTiles(4);
+            return tiled;
+        }));
+        // Same search reading a run-length copy of the maze through its point lookups.
+        candidates.add(new Candidate("Tiled Dijkstra (RLE)", () -> new PathSolver() {
+            @Override
+            public List<Cell> solve(Maze maze) {
+                TiledDijkstraSolver tiled = new TiledDijkstraSolver();
+                tiled.setTileSize(16);
+                tiled.setResidentTiles(4);
+                long[] path = tiled.solve(RunLengthGrid.of(maze));
+                int[] cells = new int[path.length];
+                for (int i = 0; i < path.length; i++) cells[i] = (int) path[i];
+                return new GridPath(maze, cells, cells.length, maze.cols, 0);
+            }
+
+            @Override
+            public String getName() {
+                return "Tiled Dijkstra (RLE)";
+            }
+        }));
+        candidates.add(new Candidate("Distance Field", () -> new PathSolver() {
+            @Override
+            public List<Cell> solve(Maze maze) {
+                return DistanceField.from(maze, maze.start).pathTo(maze, maze.goal.row, maze.goal.col);
+            }
+
+            @Override
+            public String getName() {
+                return "Distance Field";
+            }
+        }));
+        candidates.add(new Candidate("HPA*", () -> {
+            HierarchicalSolver hpa = new HierarchicalSolver();
+            hpa.setClusterSize(8);
+            return hpa;
+        }));
+        candidates.add(new Candidate("ARA*", () -> {
+            AnytimeSolver ara = new AnytimeSolver();
+            ara.setDeadlineMillis(20);
+            return ara;
+        }));
+    }
+
+    public void setCases(int cases) {
+        this.cases = Math.max(1, cases);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(5, maxSize);
+    }
+
+    // Weights start at 1: the Manhattan A* heuristic assumes every step costs at least one.
+    public void setMaxWeight(int maxWeight) {
+        this.maxWeight = Math.max(1, Math.min(254, maxWeight));
+    }
+
+    public void setOutDir(File outDir) {
+        this.outDir = outDir;
+    }
+
+    // Returns the number of (case, solver) failures after shrinking and reporting each one.
+    public int run() throws IOException {
+        AtomicInteger checks = new AtomicInteger();
+        ConcurrentLinkedQueue<String[]> failures = new ConcurrentLinkedQueue<>();
+        Map<String, Boolean> reported = new ConcurrentHashMap<>();
+
+        long startTime = System.nanoTime();
+        IntStream.range(0, cases).parallel().forEach(i -> {
+            long caseSeed = RandomStreams.forIndividual(seed, 0, i).nextLong();
+            Case c = generate(caseSeed);
+            int reference = referenceCost(c.toMaze());
+            for (Candidate candidate : candidates) {
+                checks.incrementAndGet();
+                String problem = check(candidate, c, reference);
+                if (problem == null) continue;
+                // One shrunk report per solver is enough; the rest are counted.
+                if (reported.putIfAbsent(candidate.name, Boolean.TRUE) != null) {
+                    failures.add(new String[]{candidate.name, Long.toString(caseSeed), problem, null});
+                    continue;
+                }
+                Case small = shrink(candidate, c);
+                String smallProblem = check(candidate, small, referenceCost(small.toMaze()));
+                failures.add(new String[]{candidate.name, Long.toString(caseSeed), smallProblem, small.toText()});
+            }
+        });
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        for (String[] f : failures) {
+            System.out.printf("FAIL %-16s case seed %s: %s%n", f[0], f[1], f[2]);
+            if (f[3] == null) continue;
+            outDir.mkdirs();
+            File file = new File(outDir, f[0].replaceAll("[^A-Za-z0-9]+", "_") + "-" + f[1] + ".txt");
+            try (Writer w = new FileWriter(file)) {
+                w.write(f[3]);
+            }
+            System.out.println("     shrunk case written to " + file);
+        }
+        System.out.printf("%d cases, %d solver checks, %d failures in %.2f s%n", cases, checks.get(), failures.size(), seconds);
+        return failures.size();
+    }
+
+    private Case generate(long caseSeed) {
+        SplittableRandom rand = new SplittableRandom(caseSeed);
+        int rows = 3 + rand.nextInt(maxSize - 2);
+        int cols = 3 + rand.nextInt(maxSize - 2);
+        MazeGenerator generator = new MazeGenerator(rows, cols, caseSeed);
+        MazeGenerator.Algorithm[] modes = MazeGenerator.Algorithm.values();
+        generator.setAlgorithm(modes[rand.nextInt(modes.length)]);
+        generator.setTileSize(4 << rand.nextInt(4));
+        generator.setObstacleDensity(rand.nextDouble() * 0.45);
+        generator.setBraiding(rand.nextDouble() * 0.3);
+        MazeGenerator.WeightDistribution[] dists = MazeGenerator.WeightDistribution.values();
+        int min = 1 + rand.nextInt(maxWeight);
+        int max = min + rand.nextInt(maxWeight - min + 1);
+        generator.setWeights(dists[rand.nextInt(dists.length)], min, max);
+        Case c = Case.of(generator.generate());
+
+        // Move the endpoints sometimes, so start == goal and start/goal on arbitrary open cells are covered too.
+        if (rand.nextInt(4) == 0) {
+            int[] open = IntStream.range(0, c.weights.length).filter(i -> c.weights[i] >= 0).toArray();
+            int s = open[rand.nextInt(open.length)], g = rand.nextInt(20) == 0 ? s : open[rand.nextInt(open.length)];
+            return new Case(c.rows, c.cols, c.weights, s, g);
+        }
+        return c;
+    }
+
+    // Reference cost from DijkstraSolver, or -1 when the goal is unreachable.
+    private static int referenceCost(Maze maze) {
+        List<Cell> path = new DijkstraSolver().solve(maze);
+        if (path.isEmpty()) return -1;
+        int cost = 0;
+        for (Cell c : path) cost += c.weight;
+        return cost;
+    }
+
+    // Null when the solver's answer is acceptable, otherwise a description of what is wrong.
+    private static String check(Candidate candidate, Case c, int reference) {
+        Maze maze = c.toMaze();
+        List<Cell> path;
+        try {
+            path = candidate.factory.get().solve(maze);
+        } catch (RuntimeException e) {
+            return "threw " + e;
+        }
+        if (path == null) return "returned null";
+        if (reference < 0) return path.isEmpty() ? null : "returned a path to an unreachable goal";
+        if (path.isEmpty()) return "no path, reference cost " + reference;
+
+        if (path.get(0) != maze.start) return "path does not begin at the start";
+        if (path.get(path.size() - 1) != maze.goal) return "path does not end at the goal";
+        int cost = 0;
+        for (int i = 0; i < path.size(); i++) {
+            Cell cell = path.get(i);
+            if (cell.isWall) return "path crosses a wall at " + cell.row + "," + cell.col;
+            if (i > 0) {
+                Cell prev = path.get(i - 1);
+                if (Math.abs(prev.row - cell.row) + Math.abs(prev.col - cell.col) != 1) {
+                    return "non-adjacent step " + prev.row + "," + prev.col + " -> " + cell.row + "," + cell.col;
+                }
+            }
+            cost += cell.weight;
+        }
+        if (candidate.exact && cost != reference) return "cost " + cost + ", reference " + reference;
+        if (cost < reference) return "cost " + cost + " beats the reference " + reference;
+        return null;
+    }
+
+    // Greedy shrinking: crop borders, then open walls or flatten weights, keeping any change that still fails.
+    private static Case shrink(Candidate candidate, Case failing) {
+        Case current = failing;
+        int attempts = 0;
+        boolean progress = true;
+        while (progress && attempts < SHRINK_ATTEMPTS) {
+            progress = false;
+            for (int side = 0; side < 4 && attempts < SHRINK_ATTEMPTS; side++) {
+                Case smaller = current.crop(side);
+                attempts++;
+                if (smaller != null && fails(candidate, smaller)) {
+                    current = smaller;
+                    progress = true;
+                }
+            }
+            for (int i = 0; i < current.weights.length && attempts < SHRINK_ATTEMPTS; i++) {
+                int w = current.weights[i];
+                if (w == 1 || i == current.start || i == current.goal) continue;
+                attempts++;
+                Case simpler = current.withCell(i, 1);
+                if (fails(candidate, simpler)) {
+                    current = simpler;
+                    progress = true;
+                } else if (w > 2) {
+                    attempts++;
+                    Case halved = current.withCell(i, w / 2);
+                    if (fails(candidate, halved)) {
+                        current = halved;
+                        progress = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private static boolean fails(Candidate candidate, Case c) {
+        return check(candidate, c, referenceCost(c.toMaze())) != null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cases": fuzzer.setCases(Integer.parseInt(args[++i])); break;
+                case "--seed": fuzzer.setSeed(Long.parseLong(args[++i])); break;
+                case "--max-size": fuzzer.setMaxSize(Integer.parseInt(args[++i])); break;
+                case "--max-weight": fuzzer.setMaxWeight(Integer.parseInt(args[++i])); break;
+                case "--out": fuzzer.setOutDir(new File(args[++i])); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (fuzzer.run() > 0) System.exit(1);
+    }
+}
@@ -2,21 +2,45 @@ package algorithms;
 
 import models.Cell;
 import models.Maze;
+import utils.SolverEvents;
 
 import java.util.*;
 
 public class DijkstraSolver implements PathSolver {
 
+    private SearchStats stats;
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return stats;
+    }
+
     @Override
     public String getName() {
         return "Dijkstra's Algorithm";
     }
 
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long cells = (long) rows * cols;
+        return Footprint.intGrid(rows, cols) + Footprint.ints(cells) + Footprint.heap(cells, 4);
+    }
+
     @Override
     public List<Cell> solve(Maze maze) {
+        SearchStats st = stats;
+        long startTime = System.nanoTime();
+        if (st != null) st.reset(maze.rows, maze.cols);
+        long cells = (long) maze.rows * maze.cols;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
+
         int[][] dist = new int[maze.rows][maze.cols];
-        Cell[][] parent = new Cell[maze.rows][maze.cols];
-        
+        int[] parent = new int[maze.rows * maze.cols];
+
         for (int[] row : dist) Arrays.fill(row, Integer.MAX_VALUE);
 
         PriorityQueue<Cell> pq =
@@ -26,10 +50,20 @@ public class DijkstraSolver implements PathSolver {
         Cell goal = maze.goal;
 
         dist[start.row][start.col] = 0;
+        parent[start.row * maze.cols + start.col] = PathUtils.NO_PARENT;
         pq.add(start);
+        if (st != null) st.heapPushes++;
+        phase.finish(cells, 0);
 
+        phase = SolverEvents.phase(getName(), "search");
+        long expanded = 0;
         while (!pq.isEmpty()) {
             Cell current = pq.poll();
+            expanded++;
+            if (st != null) {
+                st.heapPops++;
+                st.expand(current.row, current.col);
+            }
             if (current == goal) break;
 
             int[] dRow = {-1, 1, 0, 0};
@@ -45,26 +79,29 @@ public class DijkstraSolver implements PathSolver {
 
                     if (newDist < dist[newR][newC]) {
                         dist[newR][newC] = newDist;
-                        parent[newR][newC] = current;
+                        parent[newR * maze.cols + newC] = current.row * maze.cols + current.col;
 
-                        pq.remove(neighbor);
+                        boolean queued = pq.remove(neighbor);
                         pq.add(neighbor);
+                        if (st != null) {
+                            st.relaxations++;
+                            st.heapPushes++;
+                            if (queued) st.decreaseKeys++;
+                            st.frontier(pq.size());
+                        }
                     }
                 }
             }
         }
 
-        List<Cell> path = new ArrayList<>();
-        Cell crawl = goal;
-
-        if (dist[goal.row][goal.col] == Integer.MAX_VALUE) return path;
+        phase.finish(cells, expanded);
+        if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
 
-        while (crawl != null) {
-            path.add(crawl);
-            crawl = parent[crawl.row][crawl.col];
-        }
+        if (dist[goal.row][goal.col] == Integer.MAX_VALUE) return GridPath.empty(maze);
 
-        Collections.reverse(path);
-        return path;
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        int[] path = PathUtils.fromParents(parent, goal.row * maze.cols + goal.col);
+        reconstruction.finish(path.length);
+        return new GridPath(maze, path, path.length, maze.cols, 0);
     }
 }
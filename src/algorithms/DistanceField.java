@@ -0,0 +1,206 @@
+package algorithms;
+
+import models.Cell;
+import models.GridStore;
+import models.Maze;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Full single-source (or nearest-of-several-sources) Dijkstra with no goal cut-off. Distances and
+// predecessors are row-major int arrays; cost follows the solvers' convention (sum of entered cells' weights).
+public class DistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int FILE_MAGIC = 0x44495354;
+    private static final int FILE_VERSION = 1;
+
+    public final int rows;
+    public final int cols;
+    // Row-major cell indices (row * cols + col) of the sources this field was grown from.
+    public final int[] sources;
+    public final int[] dist;
+    // Predecessor of each cell on a shortest path, PathUtils.NO_PARENT for sources and unreachable cells.
+    public final int[] pred;
+
+    private DistanceField(int rows, int cols, int[] sources, int[] dist, int[] pred) {
+        this.rows = rows;
+        this.cols = cols;
+        this.sources = sources;
+        this.dist = dist;
+        this.pred = pred;
+    }
+
+    public static DistanceField from(Maze maze, Cell source) {
+        return from(maze, new int[]{source.row * maze.cols + source.col});
+    }
+
+    // Multi-source field: every cell gets the distance to its nearest source.
+    public static DistanceField from(GridStore maze, int... sources) {
+        return grow(weights(maze), maze.rowCount(), maze.colCount(), sources);
+    }
+
+    // One independent field per source, computed in parallel and handed to the consumer as each completes
+    // (from worker threads, in no particular order), so only about one field per core is alive at a time.
+    public static void forEachSource(GridStore maze, int[] sources, Consumer<DistanceField> consumer) {
+        int[] weights = weights(maze);
+        IntStream.range(0, sources.length).parallel()
+                .forEach(i -> consumer.accept(grow(weights, maze.rowCount(), maze.colCount(), new int[]{sources[i]})));
+    }
+
+    public static DistanceField[] fromEach(GridStore maze, int[] sources) {
+        int[] weights = weights(maze);
+        DistanceField[] fields = new DistanceField[sources.length];
+        IntStream.range(0, sources.length).parallel()
+                .forEach(i -> fields[i] = grow(weights, maze.rowCount(), maze.colCount(), new int[]{sources[i]}));
+        return fields;
+    }
+
+    // Streams one field per source to a file without keeping them in memory. Records appear in completion order.
+    public static void writeEach(GridStore maze, int[] sources, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            writeHeader(out, maze.rowCount(), maze.colCount(), sources.length);
+            forEachSource(maze, sources, field -> {
+                synchronized (out) {
+                    try {
+                        field.writeRecord(out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void write(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            writeHeader(out, rows, cols, 1);
+            writeRecord(out);
+        }
+    }
+
+    // Reads every record of a file written by write or writeEach.
+    public static DistanceField[] read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("Not a distance field file: " + file);
+            if (in.readInt() != FILE_VERSION) throw new IOException("Unsupported distance field version: " + file);
+            int rows = in.readInt(), cols = in.readInt(), count = in.readInt();
+            DistanceField[] fields = new DistanceField[count];
+            for (int f = 0; f < count; f++) {
+                int[] sources = new int[in.readInt()];
+                for (int i = 0; i < sources.length; i++) sources[i] = in.readInt();
+                int[] dist = new int[rows * cols];
+                int[] pred = new int[rows * cols];
+                for (int i = 0; i < dist.length; i++) dist[i] = in.readInt();
+                for (int i = 0; i < pred.length; i++) pred[i] = in.readInt();
+                fields[f] = new DistanceField(rows, cols, sources, dist, pred);
+            }
+            return fields;
+        }
+    }
+
+    public boolean isReachable(int row, int col) {
+        return dist[row * cols + col] != UNREACHABLE;
+    }
+
+    public int distance(int row, int col) {
+        return dist[row * cols + col];
+    }
+
+    // Shortest path from the nearest source to the target, or an empty path if it cannot be reached.
+    public List<Cell> pathTo(Maze maze, int row, int col) {
+        int target = row * cols + col;
+        if (dist[target] == UNREACHABLE) return GridPath.empty(maze);
+        int[] path = PathUtils.fromParents(pred, target);
+        return new GridPath(maze, path, path.length, cols, 0);
+    }
+
+    public int reachableCount() {
+        int n = 0;
+        for (int d : dist) if (d != UNREACHABLE) n++;
+        return n;
+    }
+
+    public int maxDistance() {
+        int max = 0;
+        for (int d : dist) if (d != UNREACHABLE && d > max) max = d;
+        return max;
+    }
+
+    private static void writeHeader(DataOutputStream out, int rows, int cols, int count) throws IOException {
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeInt(rows);
+        out.writeInt(cols);
+        out.writeInt(count);
+    }
+
+    private void writeRecord(DataOutputStream out) throws IOException {
+        out.writeInt(sources.length);
+        for (int s : sources) out.writeInt(s);
+        for (int d : dist) out.writeInt(d);
+        for (int p : pred) out.writeInt(p);
+    }
+
+    // Row-major weights with -1 for walls, shared read-only by parallel runs.
+    // Row by row through copyRow, so run-length backends fill whole uniform runs at once.
+    private static int[] weights(GridStore grid) {
+        int rows = grid.rowCount(), cols = grid.colCount();
+        int[] weights = new int[rows * cols];
+        for (int r = 0; r < rows; r++) grid.copyRow(r, weights, r * cols);
+        return weights;
+    }
+
+    private static DistanceField grow(int[] weights, int rows, int cols, int[] sources) {
+        int[] dist = new int[rows * cols];
+        int[] pred = new int[rows * cols];
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(pred, PathUtils.NO_PARENT);
+
+        LongMinHeap open = new LongMinHeap(Math.max(64, (rows + cols) * 2));
+        for (int s : sources) {
+            if (s < 0 || s >= dist.length) throw new IllegalArgumentException("Source out of range: " + s);
+            if (weights[s] < 0 || dist[s] == 0) continue;
+            dist[s] = 0;
+            open.push(LongMinHeap.pack(0, s));
+        }
+
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int u = LongMinHeap.node(entry);
+            int du = LongMinHeap.priority(entry);
+            if (du > dist[u]) continue;
+            int r = u / cols, c = u - r * cols;
+            if (r > 0) relax(weights, dist, pred, open, u, du, u - cols);
+            if (r < rows - 1) relax(weights, dist, pred, open, u, du, u + cols);
+            if (c > 0) relax(weights, dist, pred, open, u, du, u - 1);
+            if (c < cols - 1) relax(weights, dist, pred, open, u, du, u + 1);
+        }
+        return new DistanceField(rows, cols, sources.clone(), dist, pred);
+    }
+
+    private static void relax(int[] weights, int[] dist, int[] pred, LongMinHeap open, int u, int du, int v) {
+        int w = weights[v];
+        if (w < 0) return;
+        int nd = du + w;
+        if (nd < dist[v]) {
+            dist[v] = nd;
+            pred[v] = u;
+            open.push(LongMinHeap.pack(nd, v));
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.List;
+
+// Island-model GA across worker JVMs. Each GeneticWorker process evolves its own sub-population with
+// GeneticSolver2, so no single heap holds every genome. Every migration interval the islands report their
+// elites and receive their ring neighbour's. A worker that dies or stalls is replaced from its last reported
+// elites (up to maxRestarts times); otherwise the run continues without it. The best elite seen is kept
+// here as well, so even a run that loses every worker still returns a path.
+public class DistributedGeneticSolver implements PathSolver {
+
+    private static final int MAX_WEIGHT = 254;
+
+    private int workers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private int population = 2000;
+    private int generations = 2000;
+    private int genomeLength = 3000;
+    private double mutation = 0.03;
+    private int elitism = 50;
+    private long seed = 1;
+    private int memeticInterval = 0;
+    private int memeticCount = 20;
+    private int migrationInterval = 50;
+    private int migrants = 10;
+    private int maxRestarts = 2;
+    private String workerHeap = "512m";
+    private int port = 0;
+    private boolean spawnWorkers = true;
+    private long workerTimeoutMillis = 10 * 60_000L;
+
+    private volatile int lastWorkerFailures;
+
+    private static final class Island {
+        final int index;
+        Process process;
+        Socket socket;
+        DataInputStream in;
+        DataOutputStream out;
+        boolean alive;
+        boolean finished;
+        boolean awaitingReply;
+        int restarts;
+        int baseGeneration;
+        int lastGeneration;
+        byte[][] elites = new byte[0][];
+        List<Cell> result;
+
+        Island(int index) {
+            this.index = index;
+        }
+    }
+
+    // Population and generations are per island.
+    public void setParameters(int pop, int gen, int len, double mutation, int elitism) {
+        this.population = pop;
+        this.generations = gen;
+        this.genomeLength = len;
+        this.mutation = mutation;
+        this.elitism = elitism;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setMemetic(int interval, int individuals) {
+        this.memeticInterval = Math.max(0, interval);
+        this.memeticCount = Math.max(1, individuals);
+    }
+
+    public void setMigration(int interval, int migrants) {
+        this.migrationInterval = Math.max(1, interval);
+        this.migrants = Math.max(1, migrants);
+    }
+
+    public void setMaxRestarts(int maxRestarts) {
+        this.maxRestarts = Math.max(0, maxRestarts);
+    }
+
+    // Passed to each worker as -Xmx, e.g. "512m".
+    public void setWorkerHeap(String workerHeap) {
+        this.workerHeap = workerHeap;
+    }
+
+    // With spawning off, the coordinator listens on the given port and waits for workers started elsewhere
+    // (java algorithms.GeneticWorker <host> <port> <island>); they are then not restarted on failure.
+    public void setSpawnWorkers(boolean spawnWorkers, int port) {
+        this.spawnWorkers = spawnWorkers;
+        this.port = port;
+    }
+
+    public void setWorkerTimeoutMillis(long workerTimeoutMillis) {
+        this.workerTimeoutMillis = workerTimeoutMillis;
+    }
+
+    public int getLastWorkerFailures() {
+        return lastWorkerFailures;
+    }
+
+    @Override
+    public String getName() {
+        return "GA (Distributed Islands)";
+    }
+
+    // Coordinator heap only: islands run in their own JVMs, each capped by setWorkerHeap.
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long elites = (long) workers * Math.max(migrants, elitism) * Footprint.bytes(genomeLength);
+        return 2 * elites + Footprint.bytes(Footprint.padded(rows, cols)) + 2 * Footprint.ints(genomeLength + 1L);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return String.format("%s|islands=%d|pop=%d|gen=%d|len=%d|mut=%s|elite=%d|seed=%d|migrate=%dx%d",
+                getClass().getSimpleName(), workers, population, generations, genomeLength, mutation, elitism, seed,
+                migrationInterval, migrants)
+                + (memeticInterval > 0 ? "|memetic=" + memeticInterval + "x" + memeticCount : "");
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        for (Cell[] row : maze.grid) {
+            for (Cell c : row) {
+                if (!c.isWall && c.weight > MAX_WEIGHT) throw new IllegalArgumentException("Weights above " + MAX_WEIGHT + " cannot be sent to workers");
+            }
+        }
+        lastWorkerFailures = 0;
+
+        Island[] islands = new Island[workers];
+        for (int i = 0; i < workers; i++) islands[i] = new Island(i);
+        byte[] bestGenome = null;
+        double bestFitness = -Double.MAX_VALUE;
+
+        try (ServerSocket server = new ServerSocket(port, workers, spawnWorkers ? InetAddress.getLoopbackAddress() : null)) {
+            server.setSoTimeout(30_000);
+            for (Island island : islands) {
+                if (spawnWorkers) island.process = spawn(server.getLocalPort(), island.index);
+            }
+            int connected = 0;
+            try {
+                for (; connected < workers; connected++) start(accept(server, islands, -1), maze, generations, new byte[0][]);
+            } catch (SocketTimeoutException e) {
+                if (connected == 0) throw e;
+            }
+
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean active = false;
+                for (Island island : islands) {
+                    if (!island.alive || island.finished) continue;
+                    active = true;
+                    try {
+                        byte type = island.in.readByte();
+                        if (type == IslandProtocol.RESULT) {
+                            int n = island.in.readInt();
+                            int[] cells = new int[n];
+                            for (int i = 0; i < n; i++) cells[i] = island.in.readInt();
+                            island.result = new GridPath(maze, cells, n, maze.cols, 0);
+                            island.finished = true;
+                        } else if (type == IslandProtocol.MIGRANTS) {
+                            island.lastGeneration = island.baseGeneration + island.in.readInt();
+                            int k = island.in.readInt();
+                            byte[][] elites = new byte[k][];
+                            for (int i = 0; i < k; i++) {
+                                double fitness = island.in.readDouble();
+                                elites[i] = GeneticCheckpoint.unpack(island.in, genomeLength);
+                                if (fitness > bestFitness) {
+                                    bestFitness = fitness;
+                                    bestGenome = elites[i];
+                                }
+                            }
+                            island.elites = elites;
+                            island.awaitingReply = true;
+                        } else {
+                            throw new IOException("Unexpected message " + type);
+                        }
+                    } catch (IOException e) {
+                        fail(island, islands, server, maze);
+                    }
+                }
+                if (!active) break;
+
+                // Ring migration: each island receives the elites of the nearest preceding live island that has any.
+                for (Island island : islands) {
+                    if (!island.awaitingReply) continue;
+                    island.awaitingReply = false;
+                    byte[][] arrivals = new byte[0][];
+                    for (int step = 1; step < workers; step++) {
+                        Island from = islands[(island.index - step + workers) % workers];
+                        if (from.alive && from.elites.length > 0) {
+                            arrivals = from.elites;
+                            break;
+                        }
+                    }
+                    try {
+                        island.out.writeByte(IslandProtocol.IMMIGRANTS);
+                        IslandProtocol.writeGenomes(island.out, arrivals);
+                        island.out.flush();
+                    } catch (IOException e) {
+                        fail(island, islands, server, maze);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (Island island : islands) shutdown(island);
+        }
+
+        List<Cell> best = null;
+        for (Island island : islands) {
+            if (island.result != null && better(island.result, best, maze)) best = island.result;
+        }
+        if (bestGenome != null) {
+            List<Cell> fromElite = reconstruct(bestGenome, maze);
+            if (better(fromElite, best, maze)) best = fromElite;
+        }
+        return best != null ? best : GridPath.empty(maze);
+    }
+
+    private Process spawn(int serverPort, int island) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        // Each worker gets a fair share of cores rather than a full-size common pool of its own.
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / workers);
+        ProcessBuilder builder = new ProcessBuilder(java, "-Xmx" + workerHeap,
+                "-Djava.util.concurrent.ForkJoinPool.common.parallelism=" + parallelism,
+                "-cp", System.getProperty("java.class.path"), GeneticWorker.class.getName(),
+                InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(serverPort), String.valueOf(island));
+        builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return builder.start();
+    }
+
+    // Accepts the next worker's connection; with expected >= 0, connections for other islands are dropped.
+    private Island accept(ServerSocket server, Island[] islands, int expected) throws IOException {
+        while (true) {
+            Socket socket = server.accept();
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, workerTimeoutMillis));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            int index = in.readInt();
+            if (index < 0 || index >= islands.length || islands[index].socket != null || (expected >= 0 && index != expected)) {
+                socket.close();
+                continue;
+            }
+            Island island = islands[index];
+            island.socket = socket;
+            island.in = in;
+            island.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            return island;
+        }
+    }
+
+    private void start(Island island, Maze maze, int islandGenerations, byte[][] warm) throws IOException {
+        IslandProtocol.Job job = new IslandProtocol.Job();
+        job.island = island.index;
+        job.seed = RandomStreams.forIndividual(seed, island.restarts, island.index).nextLong();
+        job.population = population;
+        job.generations = islandGenerations;
+        job.genomeLength = genomeLength;
+        job.mutation = mutation;
+        job.elitism = elitism;
+        job.memeticInterval = memeticInterval;
+        job.memeticCount = memeticCount;
+        job.migrationInterval = migrationInterval;
+        job.migrants = migrants;
+        job.warmGenomes = warm;
+        IslandProtocol.writeJob(island.out, job, maze);
+        island.alive = true;
+    }
+
+    // A replacement runs only the generations its predecessor had left, starting from its last elites. An island
+    // that is not replaced drops its elites so they stop circulating in the ring.
+    private void fail(Island island, Island[] islands, ServerSocket server, Maze maze) {
+        lastWorkerFailures++;
+        shutdown(island);
+        island.alive = false;
+        island.awaitingReply = false;
+        if (!spawnWorkers || island.restarts >= maxRestarts) {
+            island.elites = new byte[0][];
+            return;
+        }
+
+        island.restarts++;
+        try {
+            island.process = spawn(server.getLocalPort(), island.index);
+            accept(server, islands, island.index);
+            island.baseGeneration = island.lastGeneration;
+            int remaining = Math.max(migrationInterval, generations - island.lastGeneration);
+            start(island, maze, remaining, island.elites);
+        } catch (IOException e) {
+            shutdown(island);
+        }
+    }
+
+    private static void shutdown(Island island) {
+        try {
+            if (island.out != null && island.alive && !island.finished) {
+                island.out.writeByte(IslandProtocol.STOP);
+                island.out.flush();
+            }
+        } catch (IOException ignored) {
+        }
+        try {
+            if (island.socket != null) island.socket.close();
+        } catch (IOException ignored) {
+        }
+        island.socket = null;
+        island.in = null;
+        island.out = null;
+        if (island.process != null) {
+            island.process.destroy();
+            island.process = null;
+        }
+    }
+
+    // Goal-reaching paths beat unfinished ones; among those, lower cost wins, otherwise the closer end.
+    private static boolean better(List<Cell> candidate, List<Cell> current, Maze maze) {
+        if (candidate.isEmpty()) return false;
+        if (current == null || current.isEmpty()) return true;
+        boolean candReached = candidate.get(candidate.size() - 1) == maze.goal;
+        boolean currReached = current.get(current.size() - 1) == maze.goal;
+        if (candReached != currReached) return candReached;
+        if (candReached) return cost(candidate) < cost(current);
+        return distanceToGoal(candidate, maze) < distanceToGoal(current, maze);
+    }
+
+    private static long cost(List<Cell> path) {
+        long sum = 0;
+        for (Cell c : path) sum += c.weight;
+        return sum;
+    }
+
+    private static int distanceToGoal(List<Cell> path, Maze maze) {
+        Cell end = path.get(path.size() - 1);
+        return Math.abs(end.row - maze.goal.row) + Math.abs(end.col - maze.goal.col);
+    }
+
+    private static List<Cell> reconstruct(byte[] genome, Maze maze) {
+        int paddedCols = maze.cols + 2;
+        boolean[] walls = new boolean[(maze.rows + 2) * paddedCols];
+        Arrays.fill(walls, true);
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) walls[(r + 1) * paddedCols + c + 1] = maze.grid[r][c].isWall;
+        }
+        int[] offsets = {-paddedCols, paddedCols, -1, 1};
+        int start = (maze.start.row + 1) * paddedCols + maze.start.col + 1;
+        int goal = (maze.goal.row + 1) * paddedCols + maze.goal.col + 1;
+        int[] raw = new int[genome.length + 1];
+        int n = PathUtils.walkGenes(genome, 0, genome.length, walls, offsets, start, goal, raw);
+        n = new PathUtils.LoopEraser(walls.length).erase(raw, n);
+        return new GridPath(maze, raw, n, paddedCols, 1);
+    }
+}
@@ -0,0 +1,68 @@
+package algorithms;
+
+import java.util.function.LongBinaryOperator;
+
+// Heap sizes of the arrays solvers allocate, used by PathSolver.estimateMemory. Assumes 16-byte array
+// headers and compressed (4-byte) references, which is what a 64-bit HotSpot JVM below 32 GB uses.
+final class Footprint {
+
+    private static final long ARRAY_HEADER = 16;
+
+    private Footprint() {
+    }
+
+    static long bytes(long n) {
+        return ARRAY_HEADER + n;
+    }
+
+    static long ints(long n) {
+        return ARRAY_HEADER + 4 * n;
+    }
+
+    static long longs(long n) {
+        return ARRAY_HEADER + 8 * n;
+    }
+
+    static long refs(long n) {
+        return ARRAY_HEADER + 4 * n;
+    }
+
+    static long intGrid(int rows, int cols) {
+        return refs(rows) + rows * ints(cols);
+    }
+
+    // Size of the solvers' one-cell wall border: (rows + 2) * (cols + 2).
+    static long padded(int rows, int cols) {
+        return (long) (rows + 2) * (cols + 2);
+    }
+
+    // A lazy-deletion binary heap holds about one stale entry per relaxation; two per cell covers the open
+    // grids that produce the largest frontiers.
+    static long heap(long cells, long bytesPerEntry) {
+        return ARRAY_HEADER + 2 * cells * bytesPerEntry;
+    }
+
+    // Shrinks a GA's genome, then its population, by quarters until estimate(population, genome) fits.
+    // Returns {population, genome}, or null if the floors still do not fit.
+    static int[] fitGenetic(long budget, int population, int genome, int minPopulation, int minGenome,
+                            LongBinaryOperator estimate) {
+        int pop = population, len = genome;
+        minPopulation = Math.min(minPopulation, pop);
+        minGenome = Math.min(minGenome, len);
+        while (estimate.applyAsLong(pop, len) > budget && len > minGenome) len = Math.max(minGenome, len - len / 4 - 1);
+        while (estimate.applyAsLong(pop, len) > budget && pop > minPopulation) pop = Math.max(minPopulation, pop - pop / 4 - 1);
+        return estimate.applyAsLong(pop, len) <= budget ? new int[]{pop, len} : null;
+    }
+
+    // Shortest genome worth keeping: enough moves to cross the maze twice over.
+    static int minGenome(int rows, int cols) {
+        return Math.max(64, 2 * (rows + cols));
+    }
+
+    static String format(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+}
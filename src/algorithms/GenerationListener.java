@@ -0,0 +1,12 @@
+package algorithms;
+
+import models.Cell;
+
+import java.util.List;
+
+public interface GenerationListener {
+    void onGeneration(int generation, double bestFitness, boolean reachedGoal);
+
+    default void onBestPath(int generation, List<Cell> path) {
+    }
+}
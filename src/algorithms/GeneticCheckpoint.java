@@ -0,0 +1,128 @@
+package algorithms;
+
+import java.io.*;
+
+// Snapshot of a GeneticSolver2 run taken at the start of a generation, with every setting that shapes the
+// rest of the run so a resume replays it exactly. Genes are packed 2 bits per move.
+public class GeneticCheckpoint {
+
+    private static final int FILE_MAGIC = 0x47414350;
+    private static final int FILE_VERSION = 2;
+
+    public final long mazeHash;
+    public final int populationSize;
+    public final int genomeLength;
+    public final int generation;
+    public final long seed;
+    public final int stagnation;
+    public final double bestFitness;
+    public final boolean bestReached;
+    public final int bestValidSteps;
+    public final int maxGenerations;
+    public final double mutationRate;
+    public final int elitism;
+    public final int memeticInterval;
+    public final int memeticCount;
+    public final double diversityThreshold;
+    final byte[] genes;
+    final byte[] bestGenes;
+
+    GeneticCheckpoint(long mazeHash, int populationSize, int genomeLength, int generation, long seed, int stagnation,
+                      double bestFitness, boolean bestReached, int bestValidSteps, int maxGenerations,
+                      double mutationRate, int elitism, int memeticInterval, int memeticCount,
+                      double diversityThreshold, byte[] genes, byte[] bestGenes) {
+        this.mazeHash = mazeHash;
+        this.populationSize = populationSize;
+        this.genomeLength = genomeLength;
+        this.generation = generation;
+        this.seed = seed;
+        this.stagnation = stagnation;
+        this.bestFitness = bestFitness;
+        this.bestReached = bestReached;
+        this.bestValidSteps = bestValidSteps;
+        this.maxGenerations = maxGenerations;
+        this.mutationRate = mutationRate;
+        this.elitism = elitism;
+        this.memeticInterval = memeticInterval;
+        this.memeticCount = memeticCount;
+        this.diversityThreshold = diversityThreshold;
+        this.genes = genes;
+        this.bestGenes = bestGenes;
+    }
+
+    public void write(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(mazeHash);
+            out.writeInt(populationSize);
+            out.writeInt(genomeLength);
+            out.writeInt(generation);
+            out.writeLong(seed);
+            out.writeInt(stagnation);
+            out.writeDouble(bestFitness);
+            out.writeBoolean(bestReached);
+            out.writeInt(bestValidSteps);
+            out.writeInt(maxGenerations);
+            out.writeDouble(mutationRate);
+            out.writeInt(elitism);
+            out.writeInt(memeticInterval);
+            out.writeInt(memeticCount);
+            out.writeDouble(diversityThreshold);
+            out.write(pack(bestGenes));
+            out.write(pack(genes));
+        }
+        // Rename last so an interrupted write never replaces a good snapshot.
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) throw new IOException("Could not replace " + file);
+        }
+    }
+
+    public static GeneticCheckpoint read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("Not a GA checkpoint: " + file);
+            if (in.readInt() != FILE_VERSION) throw new IOException("Unsupported GA checkpoint version: " + file);
+            long mazeHash = in.readLong();
+            int populationSize = in.readInt();
+            int genomeLength = in.readInt();
+            int generation = in.readInt();
+            long seed = in.readLong();
+            int stagnation = in.readInt();
+            double bestFitness = in.readDouble();
+            boolean bestReached = in.readBoolean();
+            int bestValidSteps = in.readInt();
+            int maxGenerations = in.readInt();
+            double mutationRate = in.readDouble();
+            int elitism = in.readInt();
+            int memeticInterval = in.readInt();
+            int memeticCount = in.readInt();
+            double diversityThreshold = in.readDouble();
+            if (populationSize <= 0 || genomeLength <= 0) throw new IOException("Corrupt GA checkpoint: " + file);
+            byte[] bestGenes = unpack(in, genomeLength);
+            byte[] genes = unpack(in, populationSize * genomeLength);
+            return new GeneticCheckpoint(mazeHash, populationSize, genomeLength, generation, seed, stagnation,
+                    bestFitness, bestReached, bestValidSteps, maxGenerations, mutationRate, elitism, memeticInterval,
+                    memeticCount, diversityThreshold, genes, bestGenes);
+        }
+    }
+
+    static byte[] pack(byte[] moves) {
+        byte[] packed = new byte[(moves.length + 3) >> 2];
+        for (int i = 0; i < moves.length; i++) {
+            packed[i >> 2] |= (byte) ((moves[i] & 3) << ((i & 3) << 1));
+        }
+        return packed;
+    }
+
+    static byte[] unpack(DataInputStream in, int length) throws IOException {
+        byte[] packed = new byte[(length + 3) >> 2];
+        in.readFully(packed);
+        byte[] moves = new byte[length];
+        for (int i = 0; i < length; i++) {
+            moves[i] = (byte) ((packed[i >> 2] >> ((i & 3) << 1)) & 3);
+        }
+        return moves;
+    }
+}
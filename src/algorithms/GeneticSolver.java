@@ -2,8 +2,11 @@ package algorithms;
 
 import models.Cell;
 import models.Maze;
+import utils.SolverEvents;
 
 import java.util.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
 
@@ -18,8 +21,24 @@ public class GeneticSolver implements PathSolver {
     private int userLen = -1;
     private double userMutation = 0.03; 
     private int userElitism = 50;      
+    private long memoryBudget;
+    // Last budget passed to fitMemory; the tighter of the two caps applies.
+    private long fittedBudget;
 
     private static final int TOURNAMENT_SIZE = 5;
+    private static final int MIN_POPULATION = 200;
+    // Object header, fitness, flags and the genes reference of one Individual, rounded to 8 bytes.
+    private static final long INDIVIDUAL_BYTES = 32;
+
+    private GenerationListener listener;
+    private int pathInterval = 25;
+
+    private long seed;
+    private boolean fixedSeed;
+    private volatile long lastSeed;
+
+    private int memeticInterval = 0;
+    private int memeticCount = 20;
 
     public void setParameters(int pop, int gen, int len, double mutation, int elitism) {
         this.userPop = pop;
@@ -29,19 +48,94 @@ public class GeneticSolver implements PathSolver {
         this.userElitism = elitism;
     }
 
+    // Runs with the same seed and parameters are bit-identical regardless of thread count.
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.fixedSeed = true;
+    }
+
+    public void setRandomSeed() {
+        this.fixedSeed = false;
+    }
+
+    public long getLastSeed() {
+        return lastSeed;
+    }
+
+    // Every interval generations the fittest individuals are locally repaired and their genes rewritten. 0 disables it.
+    public void setMemetic(int interval, int individuals) {
+        this.memeticInterval = Math.max(0, interval);
+        this.memeticCount = Math.max(1, individuals);
+    }
+
+    public void setListener(GenerationListener listener, int pathInterval) {
+        this.listener = listener;
+        this.pathInterval = Math.max(1, pathInterval);
+    }
+
+    // Caps the run's heap footprint; see GeneticSolver2.setMemoryBudget. 0 means no cap.
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudget = Math.max(0, bytes);
+    }
+
     @Override
     public String getName() {
         return String.format("GA (Mut: %.2f, Elite: %d)", userMutation, userElitism);
     }
 
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        int[] size = sizes(rows, cols);
+        return size != null ? footprint(size[0], size[1], rows, cols) : footprint(requestedPopulation(rows, cols),
+                requestedGenome(rows, cols), rows, cols);
+    }
+
+    // Leaves the setMemoryBudget cap alone and replaces the previous call's budget, so calling it again with
+    // the same budget changes nothing.
+    @Override
+    public boolean fitMemory(long budgetBytes, int rows, int cols) {
+        fittedBudget = Math.max(0, budgetBytes);
+        return sizes(rows, cols) != null;
+    }
+
+    // 0 means no cap.
+    private long budget() {
+        if (memoryBudget <= 0) return fittedBudget;
+        return fittedBudget <= 0 ? memoryBudget : Math.min(memoryBudget, fittedBudget);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return String.format("%s|pop=%d|gen=%d|len=%d|mut=%s|elite=%d|seed=%s",
+                getClass().getSimpleName(), userPop, userGen, userLen, userMutation, userElitism,
+                fixedSeed ? String.valueOf(seed) : "random")
+                + (memeticInterval > 0 ? "|memetic=" + memeticInterval + "x" + memeticCount : "")
+                + (budget() > 0 ? "|budget=" + budget() : "");
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
     @Override
     public List<Cell> solve(Maze maze) {
-        int mapArea = maze.rows * maze.cols;
-        
-        POPULATION_SIZE = (userPop > 0) ? userPop : Math.min(6000, Math.max(2000, mapArea * 4));
+        int[] sized = sizes(maze.rows, maze.cols);
+        if (sized == null) {
+            int pop = Math.min(MIN_POPULATION, requestedPopulation(maze.rows, maze.cols));
+            int len = Math.min(Footprint.minGenome(maze.rows, maze.cols), requestedGenome(maze.rows, maze.cols));
+            throw new IllegalStateException(String.format("GA needs %s for %d x %d genes on a %dx%d maze; budget is %s",
+                    Footprint.format(footprint(pop, len, maze.rows, maze.cols)), pop, len, maze.rows, maze.cols,
+                    Footprint.format(budget())));
+        }
+
+        POPULATION_SIZE = sized[0];
         MAX_GENERATIONS = (userGen > 0) ? userGen : 3000;
-        GENOME_LENGTH = (userLen > 0) ? userLen : Math.min(10000, mapArea * 3);
+        GENOME_LENGTH = sized[1];
+        long runSeed = fixedSeed ? seed : ThreadLocalRandom.current().nextLong();
+        lastSeed = runSeed;
         
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
         int paddedCols = maze.cols + 2;
         int size = (maze.rows + 2) * paddedCols;
         boolean[] wallMap = new boolean[size];
@@ -69,54 +163,91 @@ public class GeneticSolver implements PathSolver {
             nextGen[i] = new Individual(GENOME_LENGTH);
         }
 
-        initializePopulation(population, startIdx, goalIdx, paddedCols);
+        initializePopulation(population, startIdx, goalIdx, paddedCols, runSeed);
         Individual globalBest = new Individual(GENOME_LENGTH);
         globalBest.fitness = -Double.MAX_VALUE;
 
+        PathUtils.LoopEraser eraser = new PathUtils.LoopEraser(size);
+        MemeticRepair memetic = memeticInterval > 0
+                ? new MemeticRepair(wallMap, weightMap, moveOffsets, startIdx, goalIdx, GENOME_LENGTH) : null;
+
         int stagnation = 0;
+        int lastPathReport = -pathInterval;
+        boolean pathDirty = false;
+        phase.finish((long) maze.rows * maze.cols, 0);
 
         for (int gen = 0; gen < MAX_GENERATIONS; gen++) {
             final Individual[] currentPop = population;
 
+            // Selection here is the fitness sort plus best tracking; tournaments run inside breed.
+            SolverEvents.GenerationPhase step = SolverEvents.generation(getName(), "evaluate", gen);
             IntStream.range(0, POPULATION_SIZE).parallel().forEach(i ->
                 evaluate(currentPop[i], wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols)
             );
 
+            step.finish(POPULATION_SIZE);
+
+            step = SolverEvents.generation(getName(), "select", gen);
             Arrays.parallelSort(currentPop, (a, b) -> Double.compare(b.fitness, a.fitness));
 
+            if (memetic != null && gen % memeticInterval == 0) {
+                int k = Math.min(memeticCount, POPULATION_SIZE);
+                IntStream.range(0, k).parallel().forEach(i ->
+                    improve(memetic, currentPop[i], wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols)
+                );
+                Arrays.sort(currentPop, 0, k, (a, b) -> Double.compare(b.fitness, a.fitness));
+            }
+
             if (currentPop[0].fitness > globalBest.fitness) {
                 System.arraycopy(currentPop[0].genes, 0, globalBest.genes, 0, GENOME_LENGTH);
                 globalBest.fitness = currentPop[0].fitness;
                 globalBest.reachedGoal = currentPop[0].reachedGoal;
                 globalBest.validGenes = currentPop[0].validGenes;
                 stagnation = 0;
+                pathDirty = true;
             } else {
                 stagnation++;
             }
 
+            if (listener != null) {
+                listener.onGeneration(gen, globalBest.fitness, globalBest.reachedGoal);
+                if (pathDirty && gen - lastPathReport >= pathInterval) {
+                    listener.onBestPath(gen, reconstructPath(globalBest, maze, wallMap, moveOffsets, startIdx, goalIdx, paddedCols, eraser));
+                    lastPathReport = gen;
+                    pathDirty = false;
+                }
+            }
+
+            step.finish(POPULATION_SIZE);
             if (globalBest.reachedGoal && stagnation > 200) break;
 
+            step = SolverEvents.generation(getName(), "breed", gen);
             final Individual[] nextPopRef = nextGen;
             int elitesToKeep = Math.min(userElitism, POPULATION_SIZE / 2);
+            final int generation = gen;
             
             for (int i = 0; i < elitesToKeep; i++) {
                 System.arraycopy(currentPop[i].genes, 0, nextPopRef[i].genes, 0, GENOME_LENGTH);
                 nextPopRef[i].fitness = currentPop[i].fitness;
             }
 
-            IntStream.range(elitesToKeep, POPULATION_SIZE).parallel().forEach(i -> {
-                ThreadLocalRandom rand = ThreadLocalRandom.current();
-                Individual p1 = tournamentSelect(currentPop, rand);
-                Individual p2 = tournamentSelect(currentPop, rand);
-                produceChild(p1, p2, nextPopRef[i], rand, userMutation);
-            });
+            IntStream.range(elitesToKeep, POPULATION_SIZE).parallel().forEach(i ->
+                breedChild(i, runSeed, generation, currentPop, nextPopRef));
+            step.finish(POPULATION_SIZE - elitesToKeep);
 
             Individual[] temp = population;
             population = nextGen;
             nextGen = temp;
         }
 
-        return reconstructPath(globalBest, maze);
+        return reconstructPath(globalBest, maze, wallMap, moveOffsets, startIdx, goalIdx, paddedCols, eraser);
+    }
+
+    private void breedChild(int i, long runSeed, int generation, Individual[] currentPop, Individual[] nextPop) {
+        SplittableRandom rand = RandomStreams.forIndividual(runSeed, generation, i);
+        Individual p1 = tournamentSelect(currentPop, rand);
+        Individual p2 = tournamentSelect(currentPop, rand);
+        produceChild(p1, p2, nextPop[i], rand, userMutation);
     }
 
     private void evaluate(Individual ind, boolean[] walls, int[] weights, int[] offsets, int start, int goal, int width) {
@@ -147,7 +278,25 @@ public class GeneticSolver implements PathSolver {
         ind.fitness = -distSq;
     }
 
-    private void produceChild(Individual p1, Individual p2, Individual child, ThreadLocalRandom rand, double mutationRate) {
+    private void improve(MemeticRepair memetic, Individual ind, boolean[] walls, int[] weights, int[] offsets,
+                         int start, int goal, int width) {
+        byte[] backup = ind.genes.clone();
+        double oldFitness = ind.fitness;
+        boolean oldReached = ind.reachedGoal;
+        int oldValid = ind.validGenes;
+        if (!memetic.improve(ind.genes, 0, GENOME_LENGTH)) return;
+
+        evaluate(ind, walls, weights, offsets, start, goal, width);
+        // A goal-reaching repair never costs more, but an unfinished walk can end further away once its tail shifts.
+        if (ind.fitness < oldFitness) {
+            System.arraycopy(backup, 0, ind.genes, 0, GENOME_LENGTH);
+            ind.fitness = oldFitness;
+            ind.reachedGoal = oldReached;
+            ind.validGenes = oldValid;
+        }
+    }
+
+    private void produceChild(Individual p1, Individual p2, Individual child, SplittableRandom rand, double mutationRate) {
         int mid = rand.nextInt(GENOME_LENGTH);
         System.arraycopy(p1.genes, 0, child.genes, 0, mid);
         System.arraycopy(p2.genes, mid, child.genes, mid, GENOME_LENGTH - mid);
@@ -168,7 +317,7 @@ public class GeneticSolver implements PathSolver {
         }
     }
 
-    private Individual tournamentSelect(Individual[] pop, ThreadLocalRandom rand) {
+    private Individual tournamentSelect(Individual[] pop, SplittableRandom rand) {
         Individual best = pop[rand.nextInt(POPULATION_SIZE)];
         for (int i = 0; i < TOURNAMENT_SIZE - 1; i++) {
             Individual contender = pop[rand.nextInt(POPULATION_SIZE)];
@@ -177,14 +326,14 @@ public class GeneticSolver implements PathSolver {
         return best;
     }
 
-    private void initializePopulation(Individual[] pop, int start, int goal, int width) {
-        ThreadLocalRandom rand = ThreadLocalRandom.current();
+    private void initializePopulation(Individual[] pop, int start, int goal, int width, long runSeed) {
         int sr = start/width, sc = start%width;
         int gr = goal/width, gc = goal%width;
         int bias1 = (gr > sr) ? 1 : 0;
         int bias2 = (gc > sc) ? 3 : 2; 
 
-        for (int i = 0; i < POPULATION_SIZE; i++) {
+        IntStream.range(0, POPULATION_SIZE).parallel().forEach(i -> {
+            SplittableRandom rand = RandomStreams.forIndividual(runSeed, RandomStreams.INITIAL_GENERATION, i);
             boolean guided = i < (POPULATION_SIZE * 0.7);
             for (int j = 0; j < GENOME_LENGTH; j++) {
                 if (guided) {
@@ -196,43 +345,45 @@ public class GeneticSolver implements PathSolver {
                     pop[i].genes[j] = (byte) rand.nextInt(4);
                 }
             }
-        }
+        });
     }
 
-    private List<Cell> reconstructPath(Individual ind, Maze maze) {
-        List<Cell> rawPath = new ArrayList<>();
-        int r = maze.start.row, c = maze.start.col;
-        rawPath.add(maze.grid[r][c]);
-        int[] dr = {-1, 1, 0, 0};
-        int[] dc = {0, 0, -1, 1};
-
-        for (int i = 0; i < ind.genes.length; i++) {
-            if (i >= ind.validGenes && ind.reachedGoal) break;
-            int nr = r + dr[ind.genes[i]];
-            int nc = c + dc[ind.genes[i]];
-            if (maze.isValid(nr, nc)) {
-                r = nr; c = nc;
-                Cell cell = maze.grid[r][c];
-                rawPath.add(cell);
-                if (cell.isGoal) break;
-            }
-        }
-        List<Cell> cleanPath = new ArrayList<>();
-        Set<Cell> visited = new HashSet<>();
-        for (Cell cell : rawPath) {
-            if (visited.contains(cell)) {
-                while (!cleanPath.isEmpty()) {
-                    Cell top = cleanPath.get(cleanPath.size()-1);
-                    if (top == cell) break;
-                    cleanPath.remove(cleanPath.size()-1);
-                    visited.remove(top);
-                }
-            } else {
-                cleanPath.add(cell);
-                visited.add(cell);
-            }
-        }
-        return cleanPath;
+    private List<Cell> reconstructPath(Individual ind, Maze maze, boolean[] walls, int[] offsets,
+                                       int start, int goal, int width, PathUtils.LoopEraser eraser) {
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        int limit = ind.reachedGoal ? ind.validGenes : GENOME_LENGTH;
+        int[] raw = new int[limit + 1];
+        int n = PathUtils.walkGenes(ind.genes, 0, limit, walls, offsets, start, goal, raw);
+        n = eraser.erase(raw, n);
+        reconstruction.finish(n);
+        return new GridPath(maze, raw, n, width, 1);
+    }
+
+    private int requestedPopulation(int rows, int cols) {
+        return userPop > 0 ? userPop : Math.min(6000, Math.max(2000, rows * cols * 4));
+    }
+
+    private int requestedGenome(int rows, int cols) {
+        return userLen > 0 ? userLen : Math.min(10000, rows * cols * 3);
+    }
+
+    private int[] sizes(int rows, int cols) {
+        int pop = requestedPopulation(rows, cols), len = requestedGenome(rows, cols);
+        long budget = budget();
+        if (budget <= 0) return new int[]{pop, len};
+        return Footprint.fitGenetic(budget, pop, len, MIN_POPULATION, Footprint.minGenome(rows, cols),
+                (p, l) -> footprint((int) p, (int) l, rows, cols));
+    }
+
+    // Two generations of Individual objects, each with its own genes array, plus the padded maze maps.
+    private long footprint(int pop, int len, int rows, int cols) {
+        long padded = Footprint.padded(rows, cols);
+        long individual = INDIVIDUAL_BYTES + ((Footprint.bytes(len) + 7) & ~7L);
+        long population = 2 * (Footprint.refs(pop) + pop * individual) + individual;
+        long maps = Footprint.bytes(padded) + 3 * Footprint.ints(padded) + Footprint.ints(len + 1L);
+        long repair = memeticInterval > 0
+                ? (ForkJoinPool.getCommonPoolParallelism() + 1) * MemeticRepair.scratchBytes(padded, len) : 0;
+        return population + maps + repair;
     }
 
     private static class Individual {
@@ -2,9 +2,22 @@ package algorithms;
 
 import models.Cell;
 import models.Maze;
-
+import utils.MazeHasher;
+import utils.SolverEvents;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 public class GeneticSolver2 implements PathSolver {
@@ -20,6 +33,45 @@ public class GeneticSolver2 implements PathSolver {
     private int userElitism = 50;
 
     private static final int TOURNAMENT_SIZE = 5;
+    private static final int MIN_POPULATION = 200;
+    private static final long DIVERSITY_SALT = 0x6A09E667F3BCC909L;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Island-model hook. Every interval generations the fittest genomes are offered; the returned genomes
+    // (GENOME_LENGTH moves each) replace the weakest individuals. Returning null ends the run early.
+    public interface Migration {
+        byte[][] exchange(int generation, byte[][] emigrants, double[] emigrantFitness);
+    }
+
+    private GenerationListener listener;
+    private int pathInterval = 25;
+
+    private long seed;
+    private boolean fixedSeed;
+    private volatile long lastSeed;
+
+    private int memeticInterval = 0;
+    private int memeticCount = 20;
+
+    private File checkpointFile;
+    private int checkpointInterval = 100;
+    private GeneticCheckpoint startFrom;
+    private boolean warmStart;
+    private volatile IOException checkpointError;
+
+    private double diversityThreshold = 0;
+    private volatile double lastDuplicateRate;
+    private volatile int lastInjected;
+
+    private long memoryBudget;
+    // Last budget passed to fitMemory; the tighter of the two caps applies.
+    private long fittedBudget;
+    private volatile int lastPopulation;
+    private volatile int lastGenomeLength;
+
+    private Migration migration;
+    private int migrationInterval = 50;
+    private int migrantCount = 10;
 
     public void setParameters(int pop, int gen, int len, double mutation, int elitism) {
         this.userPop = pop;
@@ -29,18 +81,185 @@ public class GeneticSolver2 implements PathSolver {
         this.userElitism = elitism;
     }
 
+    // Runs with the same seed and parameters are bit-identical regardless of thread count.
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.fixedSeed = true;
+    }
+
+    public void setRandomSeed() {
+        this.fixedSeed = false;
+    }
+
+    public long getLastSeed() {
+        return lastSeed;
+    }
+
+    // Writes a snapshot every interval generations and once more when the run ends. Null disables it.
+    public void setCheckpointing(File file, int interval) {
+        this.checkpointFile = file;
+        this.checkpointInterval = Math.max(1, interval);
+    }
+
+    public IOException getCheckpointError() {
+        return checkpointError;
+    }
+
+    // The next solve continues the checkpointed run exactly; the maze must be unchanged. The checkpoint's
+    // generation limit, mutation, elitism, memetic and diversity settings replace this solver's own; call
+    // checkpointMismatch first to report what changes.
+    public void resumeFrom(GeneticCheckpoint checkpoint) {
+        this.startFrom = checkpoint;
+        this.warmStart = false;
+        this.userGen = checkpoint.maxGenerations;
+        this.userMutation = checkpoint.mutationRate;
+        this.userElitism = checkpoint.elitism;
+        this.memeticInterval = checkpoint.memeticInterval;
+        this.memeticCount = checkpoint.memeticCount;
+        this.diversityThreshold = checkpoint.diversityThreshold;
+    }
+
+    // Settings of this solver that differ from the checkpoint's, e.g. "mutation 0.05 -> 0.03", or an empty list.
+    public List<String> checkpointMismatch(GeneticCheckpoint checkpoint) {
+        List<String> diffs = new ArrayList<>();
+        int gen = userGen > 0 ? userGen : 3000;
+        if (gen != checkpoint.maxGenerations) diffs.add("generations " + gen + " -> " + checkpoint.maxGenerations);
+        if (userMutation != checkpoint.mutationRate) diffs.add("mutation " + userMutation + " -> " + checkpoint.mutationRate);
+        if (userElitism != checkpoint.elitism) diffs.add("elitism " + userElitism + " -> " + checkpoint.elitism);
+        if (memeticInterval != checkpoint.memeticInterval || (memeticInterval > 0 && memeticCount != checkpoint.memeticCount)) {
+            diffs.add("memetic " + memeticInterval + "x" + memeticCount + " -> " + checkpoint.memeticInterval + "x"
+                    + checkpoint.memeticCount);
+        }
+        if (diversityThreshold != checkpoint.diversityThreshold) {
+            diffs.add("diversity " + diversityThreshold + " -> " + checkpoint.diversityThreshold);
+        }
+        return diffs;
+    }
+
+    // The next solve seeds its population from the checkpoint, e.g. after the maze was edited.
+    public void warmStartFrom(GeneticCheckpoint checkpoint) {
+        this.startFrom = checkpoint;
+        this.warmStart = true;
+    }
+
+    // Every interval generations the fittest individuals are locally repaired and their genes rewritten. 0 disables it.
+    public void setMemetic(int interval, int individuals) {
+        this.memeticInterval = Math.max(0, interval);
+        this.memeticCount = Math.max(1, individuals);
+    }
+
+    // When more than this fraction of a generation walks the same path as an earlier individual, the duplicates are
+    // replaced with fresh random genomes. 0 disables injection.
+    public void setDiversityInjection(double threshold) {
+        this.diversityThreshold = Math.max(0, threshold);
+    }
+
+    // Fraction of the last generation whose effective path (the moves up to validSteps) duplicated an earlier one.
+    public double getLastDuplicateRate() {
+        return lastDuplicateRate;
+    }
+
+    public int getLastInjected() {
+        return lastInjected;
+    }
+
+    // Caps the run's heap footprint. Oversized runs shrink the genome, then the population, down to a floor;
+    // past that solve() throws IllegalStateException. 0 means no cap.
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudget = Math.max(0, bytes);
+    }
+
+    // Population and genome length of the last run, after any downsizing.
+    public int getLastPopulation() {
+        return lastPopulation;
+    }
+
+    public int getLastGenomeLength() {
+        return lastGenomeLength;
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        int[] size = sizes(rows, cols);
+        return size != null ? footprint(size[0], size[1], rows, cols) : footprint(requestedPopulation(rows, cols),
+                requestedGenome(rows, cols), rows, cols);
+    }
+
+    // Leaves the setMemoryBudget cap alone and replaces the previous call's budget, so calling it again with
+    // the same budget changes nothing.
+    @Override
+    public boolean fitMemory(long budgetBytes, int rows, int cols) {
+        fittedBudget = Math.max(0, budgetBytes);
+        return sizes(rows, cols) != null;
+    }
+
+    // 0 means no cap.
+    private long budget() {
+        if (memoryBudget <= 0) return fittedBudget;
+        return fittedBudget <= 0 ? memoryBudget : Math.min(memoryBudget, fittedBudget);
+    }
+
+    public void setMigration(Migration migration, int interval, int migrants) {
+        this.migration = migration;
+        this.migrationInterval = Math.max(1, interval);
+        this.migrantCount = Math.max(1, migrants);
+    }
+
+    public void setListener(GenerationListener listener, int pathInterval) {
+        this.listener = listener;
+        this.pathInterval = Math.max(1, pathInterval);
+    }
+
     @Override
     public String getName() {
         return "GA (DOD/SoA Optimized)";
     }
 
+    @Override
+    public String getConfigKey() {
+        return String.format("%s|pop=%d|gen=%d|len=%d|mut=%s|elite=%d|seed=%s",
+                getClass().getSimpleName(), userPop, userGen, userLen, userMutation, userElitism,
+                fixedSeed ? String.valueOf(seed) : "random")
+                + (memeticInterval > 0 ? "|memetic=" + memeticInterval + "x" + memeticCount : "")
+                + (migration != null ? "|migrate=" + migrationInterval + "x" + migrantCount : "")
+                + (diversityThreshold > 0 ? "|diversity=" + diversityThreshold : "")
+                + (budget() > 0 ? "|budget=" + budget() : "")
+                + (startFrom == null ? "" : String.format("|%s=%016x@%d", warmStart ? "warm" : "resume",
+                        startFrom.seed, startFrom.generation));
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
     @Override
     public List<Cell> solve(Maze maze) {
-        int mapArea = maze.rows * maze.cols;
-        POPULATION_SIZE = (userPop > 0) ? userPop : Math.min(6000, Math.max(2000, mapArea * 4));
+        GeneticCheckpoint start = startFrom;
+        startFrom = null;
+        boolean resume = start != null && !warmStart;
+        long mazeHash = start != null || checkpointFile != null ? MazeHasher.hash(maze) : 0;
+        if (resume && start.mazeHash != mazeHash) {
+            throw new IllegalArgumentException("Checkpoint was taken on a different maze; warm-start from it instead");
+        }
+
+        int[] size = resume ? new int[]{start.populationSize, start.genomeLength} : sizes(maze.rows, maze.cols);
+        if (size == null) {
+            throw overBudget(Math.min(MIN_POPULATION, requestedPopulation(maze.rows, maze.cols)),
+                    Math.min(Footprint.minGenome(maze.rows, maze.cols), requestedGenome(maze.rows, maze.cols)), maze);
+        }
+        if (resume && budget() > 0 && footprint(size[0], size[1], maze.rows, maze.cols) > budget()) {
+            throw overBudget(size[0], size[1], maze);
+        }
+        POPULATION_SIZE = size[0];
         MAX_GENERATIONS = (userGen > 0) ? userGen : 3000;
-        GENOME_LENGTH = (userLen > 0) ? userLen : Math.min(10000, mapArea * 3);
+        GENOME_LENGTH = size[1];
+        lastPopulation = POPULATION_SIZE;
+        lastGenomeLength = GENOME_LENGTH;
+        long runSeed = resume ? start.seed : fixedSeed ? seed : ThreadLocalRandom.current().nextLong();
+        lastSeed = runSeed;
 
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
         int paddedRows = maze.rows + 2;
         int paddedCols = maze.cols + 2;
         int totalSize = paddedRows * paddedCols;
@@ -67,24 +286,78 @@ public class GeneticSolver2 implements PathSolver {
         int[] validSteps = new int[POPULATION_SIZE];
         boolean[] reachedGoal = new boolean[POPULATION_SIZE];
 
-        initializeGenes(currentGenes, startIdx, goalIdx, paddedCols);
-
         byte[] bestGenes = new byte[GENOME_LENGTH];
         double bestFitness = -Double.MAX_VALUE;
         boolean bestReached = false;
         int bestValidSteps = 0;
-
         int stagnation = 0;
+        int firstGen = 0;
+
+        if (resume) {
+            System.arraycopy(start.genes, 0, currentGenes, 0, currentGenes.length);
+            System.arraycopy(start.bestGenes, 0, bestGenes, 0, GENOME_LENGTH);
+            bestFitness = start.bestFitness;
+            bestReached = start.bestReached;
+            bestValidSteps = start.bestValidSteps;
+            stagnation = start.stagnation;
+            firstGen = start.generation;
+        } else {
+            initializeGenes(currentGenes, startIdx, goalIdx, paddedCols, runSeed);
+            if (start != null) seedFromCheckpoint(start, currentGenes);
+        }
+
+        ExecutorService writer = checkpointFile != null ? Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ga-checkpoint");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        Future<?> pendingWrite = null;
+        checkpointError = null;
+
+        PathUtils.LoopEraser eraser = new PathUtils.LoopEraser(totalSize);
+        MemeticRepair memetic = memeticInterval > 0
+                ? new MemeticRepair(wallMap, weightMap, moveOffsets, startIdx, goalIdx, GENOME_LENGTH) : null;
+
+        long[] hashes = new long[POPULATION_SIZE];
+        long[] sortedHashes = new long[POPULATION_SIZE];
+        lastDuplicateRate = 0;
+        lastInjected = 0;
+
+        int lastPathReport = firstGen - pathInterval;
+        boolean pathDirty = false;
+        phase.finish((long) maze.rows * maze.cols, 0);
 
-        for (int gen = 0; gen < MAX_GENERATIONS; gen++) {
+        int gen = firstGen;
+        for (; gen < MAX_GENERATIONS; gen++) {
 
             final byte[] genesRef = currentGenes;
 
-            IntStream.range(0, POPULATION_SIZE).parallel().forEach(i -> 
-                evaluateInd(i, genesRef, fitness, validSteps, reachedGoal, 
-                            wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols)
-            );
+            // Evaluate covers fitness, the duplicate census, diversity injection and memetic repair;
+            // select covers best tracking and migration; breed covers tournaments, crossover and mutation.
+            SolverEvents.GenerationPhase step = SolverEvents.generation(getName(), "evaluate", gen);
+            IntStream.range(0, POPULATION_SIZE).parallel().forEach(i ->
+                evaluateAndHash(i, genesRef, hashes, fitness, validSteps, reachedGoal,
+                                wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols));
+
+            System.arraycopy(hashes, 0, sortedHashes, 0, POPULATION_SIZE);
+            Arrays.sort(sortedHashes);
+            int distinct = 1;
+            for (int i = 1; i < POPULATION_SIZE; i++) if (sortedHashes[i] != sortedHashes[i - 1]) distinct++;
+            double duplicateRate = 1.0 - (double) distinct / POPULATION_SIZE;
+            lastDuplicateRate = duplicateRate;
+            if (diversityThreshold > 0 && duplicateRate > diversityThreshold) {
+                lastInjected += injectDiversity(hashes, gen, runSeed, genesRef, fitness, validSteps, reachedGoal,
+                                                wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols);
+            }
+
+            if (memetic != null && gen % memeticInterval == 0) {
+                improveFittest(memetic, genesRef, fitness, validSteps, reachedGoal,
+                               wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols);
+            }
 
+            step.finish(POPULATION_SIZE);
+
+            step = SolverEvents.generation(getName(), "select", gen);
             int bestIdx = 0;
             for (int i = 1; i < POPULATION_SIZE; i++) {
                 if (fitness[i] > fitness[bestIdx]) bestIdx = i;
@@ -96,26 +369,240 @@ public class GeneticSolver2 implements PathSolver {
                 bestReached = reachedGoal[bestIdx];
                 bestValidSteps = validSteps[bestIdx];
                 stagnation = 0;
+                pathDirty = true;
             } else {
                 stagnation++;
             }
 
-            if (bestReached && stagnation > 200) break;
+            if (listener != null) {
+                listener.onGeneration(gen, bestFitness, bestReached);
+                if (pathDirty && gen - lastPathReport >= pathInterval) {
+                    listener.onBestPath(gen, reconstructPathSmart(bestGenes, bestValidSteps, maze, wallMap, moveOffsets, startIdx, goalIdx, paddedCols, eraser));
+                    lastPathReport = gen;
+                    pathDirty = false;
+                }
+            }
+
+            if (bestReached && stagnation > 200) {
+                step.finish(POPULATION_SIZE);
+                break;
+            }
+
+            if (migration != null && gen > firstGen && (gen - firstGen) % migrationInterval == 0) {
+                if (!migrate(gen, genesRef, fitness, validSteps, reachedGoal,
+                             wallMap, weightMap, moveOffsets, startIdx, goalIdx, paddedCols)) {
+                    step.finish(POPULATION_SIZE);
+                    break;
+                }
+                // An immigrant may beat the island's best; elitism below must carry it forward.
+                for (int i = 0; i < POPULATION_SIZE; i++) {
+                    if (fitness[i] > bestFitness) {
+                        System.arraycopy(genesRef, i * GENOME_LENGTH, bestGenes, 0, GENOME_LENGTH);
+                        bestFitness = fitness[i];
+                        bestReached = reachedGoal[i];
+                        bestValidSteps = validSteps[i];
+                        stagnation = 0;
+                        pathDirty = true;
+                    }
+                }
+            }
+            step.finish(POPULATION_SIZE);
+
+            step = SolverEvents.generation(getName(), "breed", gen);
             final byte[] nextGenesRef = nextGenes;
             final int elites = Math.min(userElitism, POPULATION_SIZE/2);
+            final int generation = gen;
             System.arraycopy(bestGenes, 0, nextGenesRef, 0, GENOME_LENGTH);
-            IntStream.range(1, POPULATION_SIZE).parallel().forEach(i -> {
-                ThreadLocalRandom rand = ThreadLocalRandom.current();
-                int p1 = tournamentSelect(fitness, rand);
-                int p2 = tournamentSelect(fitness, rand);
-                breed(p1, p2, i, genesRef, nextGenesRef, rand, userMutation);
-            });
+            IntStream.range(1, POPULATION_SIZE).parallel().forEach(i ->
+                breedChild(i, runSeed, generation, fitness, genesRef, nextGenesRef));
+            step.finish(POPULATION_SIZE - 1);
             byte[] temp = currentGenes;
             currentGenes = nextGenes;
             nextGenes = temp;
+
+            // Skipped rather than queued while the previous snapshot is still being written.
+            if (writer != null && (gen + 1) % checkpointInterval == 0 && (pendingWrite == null || pendingWrite.isDone())) {
+                pendingWrite = writer.submit(writeTask(snapshot(mazeHash, gen + 1, runSeed, stagnation, bestFitness,
+                        bestReached, bestValidSteps, currentGenes.clone(), bestGenes.clone())));
+            }
+        }
+
+        if (writer != null) {
+            writer.submit(writeTask(snapshot(mazeHash, gen, runSeed, stagnation, bestFitness, bestReached,
+                    bestValidSteps, currentGenes, bestGenes)));
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return reconstructPathSmart(bestGenes, bestValidSteps, maze, wallMap, moveOffsets, startIdx, goalIdx, paddedCols, eraser);
+    }
+
+    private void improveFittest(MemeticRepair memetic, byte[] genes, double[] fitness, int[] validSteps, boolean[] reachedGoal,
+                                boolean[] walls, int[] weights, int[] offsets, int start, int goal, int width) {
+        int k = Math.min(memeticCount, POPULATION_SIZE);
+        double[] sorted = fitness.clone();
+        Arrays.sort(sorted);
+        double threshold = sorted[POPULATION_SIZE - k];
+        int[] picks = IntStream.range(0, POPULATION_SIZE).filter(i -> fitness[i] >= threshold).limit(k).toArray();
+
+        IntStream.of(picks).parallel().forEach(i -> {
+            int offset = i * GENOME_LENGTH;
+            byte[] backup = Arrays.copyOfRange(genes, offset, offset + GENOME_LENGTH);
+            double oldFitness = fitness[i];
+            int oldSteps = validSteps[i];
+            boolean oldReached = reachedGoal[i];
+            if (!memetic.improve(genes, offset, GENOME_LENGTH)) return;
+
+            evaluateInd(i, genes, fitness, validSteps, reachedGoal, walls, weights, offsets, start, goal, width);
+            // A goal-reaching repair never costs more, but an unfinished walk can end further away once its tail shifts.
+            if (fitness[i] < oldFitness) {
+                System.arraycopy(backup, 0, genes, offset, GENOME_LENGTH);
+                fitness[i] = oldFitness;
+                validSteps[i] = oldSteps;
+                reachedGoal[i] = oldReached;
+            }
+        });
+    }
+
+    private int requestedPopulation(int rows, int cols) {
+        return userPop > 0 ? userPop : Math.min(6000, Math.max(2000, rows * cols * 4));
+    }
+
+    private int requestedGenome(int rows, int cols) {
+        return userLen > 0 ? userLen : Math.min(10000, rows * cols * 3);
+    }
+
+    // {population, genome length} for a fresh run, downsized to the memory budget; null if it cannot fit.
+    private int[] sizes(int rows, int cols) {
+        int pop = requestedPopulation(rows, cols), len = requestedGenome(rows, cols);
+        long budget = budget();
+        if (budget <= 0) return new int[]{pop, len};
+        return Footprint.fitGenetic(budget, pop, len, MIN_POPULATION, Footprint.minGenome(rows, cols),
+                (p, l) -> footprint((int) p, (int) l, rows, cols));
+    }
+
+    private IllegalStateException overBudget(int pop, int len, Maze maze) {
+        return new IllegalStateException(String.format("GA needs %s for %d x %d genes on a %dx%d maze; budget is %s",
+                Footprint.format(footprint(pop, len, maze.rows, maze.cols)), pop, len, maze.rows, maze.cols,
+                Footprint.format(budget())));
+    }
+
+    private long footprint(int pop, int len, int rows, int cols) {
+        long padded = Footprint.padded(rows, cols);
+        // Two generation buffers, plus a cloned pair while a checkpoint write is pending.
+        long genes = (checkpointFile != null ? 4 : 2) * Footprint.bytes((long) pop * len);
+        long perIndividual = Footprint.longs(pop) * 2 + Footprint.longs(pop) + Footprint.ints(pop) + Footprint.bytes(pop);
+        long maps = Footprint.bytes(padded) + Footprint.ints(padded) + 2 * Footprint.ints(padded)
+                + Footprint.bytes(len) + 2 * Footprint.ints(len + 1L);
+        long repair = memeticInterval > 0
+                ? (ForkJoinPool.getCommonPoolParallelism() + 1) * MemeticRepair.scratchBytes(padded, len) : 0;
+        return genes + perIndividual + maps + repair;
+    }
+
+    private void evaluateAndHash(int i, byte[] genes, long[] hashes, double[] fitness, int[] validSteps,
+                                 boolean[] reachedGoal, boolean[] walls, int[] weights, int[] offsets, int start, int goal, int width) {
+        evaluateInd(i, genes, fitness, validSteps, reachedGoal, walls, weights, offsets, start, goal, width);
+        hashes[i] = hash(genes, i * GENOME_LENGTH, validSteps[i]);
+    }
+
+    private void breedChild(int i, long runSeed, int generation, double[] fitness, byte[] src, byte[] dst) {
+        SplittableRandom rand = RandomStreams.forIndividual(runSeed, generation, i);
+        int p1 = tournamentSelect(fitness, rand);
+        int p2 = tournamentSelect(fitness, rand);
+        breed(p1, p2, i, src, dst, rand, userMutation);
+    }
+
+    // Every individual whose effective prefix already occurred at a lower index is re-randomised and
+    // re-evaluated. Index 0 (the carried-over best) is always a first occurrence, so elitism is unaffected.
+    private int injectDiversity(long[] hashes, int gen, long runSeed, byte[] genes, double[] fitness,
+                                int[] validSteps, boolean[] reachedGoal, boolean[] walls, int[] weights, int[] offsets,
+                                int start, int goal, int width) {
+        Set<Long> seen = new HashSet<>();
+        int[] duplicates = IntStream.range(0, POPULATION_SIZE).filter(i -> !seen.add(hashes[i])).toArray();
+
+        IntStream.of(duplicates).parallel().forEach(i -> {
+            SplittableRandom rand = RandomStreams.forIndividual(runSeed ^ DIVERSITY_SALT, gen, i);
+            int offset = i * GENOME_LENGTH;
+            for (int j = 0; j < GENOME_LENGTH; j++) genes[offset + j] = (byte) rand.nextInt(4);
+            evaluateInd(i, genes, fitness, validSteps, reachedGoal, walls, weights, offsets, start, goal, width);
+            hashes[i] = hash(genes, offset, validSteps[i]);
+        });
+        return duplicates.length;
+    }
+
+    // 64-bit hash of an individual's effective path, eight moves per step.
+    private static long hash(byte[] genes, int offset, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            h = Long.rotateLeft(h ^ (long) LONGS.get(genes, offset + i) * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+        }
+        for (; i < length; i++) {
+            h = Long.rotateLeft(h ^ genes[offset + i] * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
         }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private boolean migrate(int gen, byte[] genes, double[] fitness, int[] validSteps, boolean[] reachedGoal,
+                            boolean[] walls, int[] weights, int[] offsets, int start, int goal, int width) {
+        int k = Math.min(migrantCount, POPULATION_SIZE / 2);
+        Integer[] order = new Integer[POPULATION_SIZE];
+        for (int i = 0; i < POPULATION_SIZE; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+
+        byte[][] emigrants = new byte[k][];
+        double[] emigrantFitness = new double[k];
+        for (int i = 0; i < k; i++) {
+            int offset = order[i] * GENOME_LENGTH;
+            emigrants[i] = Arrays.copyOfRange(genes, offset, offset + GENOME_LENGTH);
+            emigrantFitness[i] = fitness[order[i]];
+        }
+
+        byte[][] arrivals = migration.exchange(gen, emigrants, emigrantFitness);
+        if (arrivals == null) return false;
+        int n = Math.min(arrivals.length, POPULATION_SIZE - k);
+        int[] slots = new int[n];
+        for (int i = 0; i < n; i++) {
+            slots[i] = order[POPULATION_SIZE - 1 - i];
+            System.arraycopy(arrivals[i], 0, genes, slots[i] * GENOME_LENGTH, GENOME_LENGTH);
+        }
+        IntStream.of(slots).parallel().forEach(i ->
+                evaluateInd(i, genes, fitness, validSteps, reachedGoal, walls, weights, offsets, start, goal, width));
+        return true;
+    }
 
-        return reconstructPathSmart(bestGenes, bestValidSteps, maze);
+    private GeneticCheckpoint snapshot(long mazeHash, int generation, long runSeed, int stagnation, double bestFitness,
+                                       boolean bestReached, int bestValidSteps, byte[] genes, byte[] bestGenes) {
+        return new GeneticCheckpoint(mazeHash, POPULATION_SIZE, GENOME_LENGTH, generation, runSeed, stagnation,
+                bestFitness, bestReached, bestValidSteps, MAX_GENERATIONS, userMutation, userElitism, memeticInterval,
+                memeticCount, diversityThreshold, genes, bestGenes);
+    }
+
+    private Runnable writeTask(GeneticCheckpoint checkpoint) {
+        File target = checkpointFile;
+        return () -> {
+            try {
+                checkpoint.write(target);
+            } catch (IOException e) {
+                checkpointError = e;
+            }
+        };
+    }
+
+    // Old genomes still encode useful move prefixes from the start cell; a shorter or smaller population keeps its random fill.
+    private void seedFromCheckpoint(GeneticCheckpoint checkpoint, byte[] genes) {
+        int count = Math.min(POPULATION_SIZE - 1, checkpoint.populationSize);
+        int len = Math.min(GENOME_LENGTH, checkpoint.genomeLength);
+        System.arraycopy(checkpoint.bestGenes, 0, genes, 0, Math.min(len, checkpoint.bestGenes.length));
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(checkpoint.genes, i * checkpoint.genomeLength, genes, (i + 1) * GENOME_LENGTH, len);
+        }
     }
 
     private void evaluateInd(int idx, byte[] genes, double[] fitness, int[] stepsOut, boolean[] reachedOut,
@@ -154,7 +641,7 @@ public class GeneticSolver2 implements PathSolver {
         }
     }
 
-    private void breed(int p1, int p2, int childIdx, byte[] src, byte[] dst, ThreadLocalRandom rand, double mutation) {
+    private void breed(int p1, int p2, int childIdx, byte[] src, byte[] dst, SplittableRandom rand, double mutation) {
         int o1 = p1 * GENOME_LENGTH;
         int o2 = p2 * GENOME_LENGTH;
         int oChild = childIdx * GENOME_LENGTH;
@@ -178,7 +665,7 @@ public class GeneticSolver2 implements PathSolver {
         }
     }
 
-    private int tournamentSelect(double[] fitness, ThreadLocalRandom rand) {
+    private int tournamentSelect(double[] fitness, SplittableRandom rand) {
         int best = rand.nextInt(POPULATION_SIZE);
         for (int i = 0; i < TOURNAMENT_SIZE - 1; i++) {
             int c = rand.nextInt(POPULATION_SIZE);
@@ -187,14 +674,14 @@ public class GeneticSolver2 implements PathSolver {
         return best;
     }
 
-    private void initializeGenes(byte[] genes, int start, int goal, int width) {
-        ThreadLocalRandom rand = ThreadLocalRandom.current();
+    private void initializeGenes(byte[] genes, int start, int goal, int width, long runSeed) {
         int sr = start/width, sc = start%width;
         int gr = goal/width, gc = goal%width;
         int bias1 = (gr > sr) ? 1 : 0;
         int bias2 = (gc > sc) ? 3 : 2;
 
-        for (int i = 0; i < POPULATION_SIZE; i++) {
+        IntStream.range(0, POPULATION_SIZE).parallel().forEach(i -> {
+            SplittableRandom rand = RandomStreams.forIndividual(runSeed, RandomStreams.INITIAL_GENERATION, i);
             int offset = i * GENOME_LENGTH;
             boolean guided = i < (POPULATION_SIZE * 0.7);
             for (int j = 0; j < GENOME_LENGTH; j++) {
@@ -207,45 +694,16 @@ public class GeneticSolver2 implements PathSolver {
                     genes[offset+j] = (byte)rand.nextInt(4);
                 }
             }
-        }
+        });
     }
 
-    private List<Cell> reconstructPathSmart(byte[] genes, int validLen, Maze maze) {
-        List<Cell> rawPath = new ArrayList<>();
-        int r = maze.start.row, c = maze.start.col;
-        rawPath.add(maze.grid[r][c]);
-        
-        int[] dr = {-1, 1, 0, 0};
-        int[] dc = {0, 0, -1, 1};
-
-        for (int i = 0; i < GENOME_LENGTH; i++) {
-            if (i >= validLen) break; 
-            int nr = r + dr[genes[i]];
-            int nc = c + dc[genes[i]];
-            if (maze.isValid(nr, nc)) {
-                r = nr; c = nc;
-                Cell cell = maze.grid[r][c];
-                rawPath.add(cell);
-                if (cell.isGoal) break;
-            }
-        }
-
-        // Loop Erasure
-        List<Cell> clean = new ArrayList<>();
-        Set<Cell> vis = new HashSet<>();
-        for (Cell cell : rawPath) {
-            if (vis.contains(cell)) {
-                while (!clean.isEmpty()) {
-                    Cell top = clean.get(clean.size()-1);
-                    if (top == cell) break;
-                    clean.remove(clean.size()-1);
-                    vis.remove(top);
-                }
-            } else {
-                clean.add(cell);
-                vis.add(cell);
-            }
-        }
-        return clean;
+    private List<Cell> reconstructPathSmart(byte[] genes, int validLen, Maze maze, boolean[] walls, int[] offsets,
+                                            int start, int goal, int width, PathUtils.LoopEraser eraser) {
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        int[] raw = new int[validLen + 1];
+        int n = PathUtils.walkGenes(genes, 0, validLen, walls, offsets, start, goal, raw);
+        n = eraser.erase(raw, n);
+        reconstruction.finish(n);
+        return new GridPath(maze, raw, n, width, 1);
     }
 }
\ No newline at end of file
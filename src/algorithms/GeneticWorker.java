@@ -0,0 +1,72 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.List;
+
+// One island of a DistributedGeneticSolver run, in its own JVM. Usage: GeneticWorker <host> <port> <island>
+// The process exits when the run ends; any failure simply drops the connection, which the coordinator handles.
+public class GeneticWorker {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) throw new IllegalArgumentException("Usage: GeneticWorker <host> <port> <island>");
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            out.writeInt(Integer.parseInt(args[2]));
+            out.flush();
+
+            Maze[] mazeOut = new Maze[1];
+            IslandProtocol.Job job = IslandProtocol.readJob(in, mazeOut);
+            Maze maze = mazeOut[0];
+
+            GeneticSolver2 ga = new GeneticSolver2();
+            ga.setParameters(job.population, job.generations, job.genomeLength, job.mutation, job.elitism);
+            ga.setSeed(job.seed);
+            ga.setMemetic(job.memeticInterval, job.memeticCount);
+            if (job.warmGenomes.length > 0) ga.warmStartFrom(warmStart(job));
+            ga.setMigration((generation, emigrants, fitness) -> {
+                try {
+                    out.writeByte(IslandProtocol.MIGRANTS);
+                    out.writeInt(generation);
+                    out.writeInt(emigrants.length);
+                    for (int i = 0; i < emigrants.length; i++) {
+                        out.writeDouble(fitness[i]);
+                        out.write(GeneticCheckpoint.pack(emigrants[i]));
+                    }
+                    out.flush();
+                    byte reply = in.readByte();
+                    if (reply == IslandProtocol.STOP) return null;
+                    if (reply != IslandProtocol.IMMIGRANTS) throw new IOException("Unexpected message " + reply);
+                    return IslandProtocol.readGenomes(in, job.genomeLength);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, job.migrationInterval, job.migrants);
+
+            List<Cell> path = ga.solve(maze);
+            out.writeByte(IslandProtocol.RESULT);
+            out.writeInt(path.size());
+            for (Cell c : path) out.writeInt(c.row * maze.cols + c.col);
+            out.flush();
+        }
+    }
+
+    // A replacement island starts from the last elites its predecessor reported.
+    private static GeneticCheckpoint warmStart(IslandProtocol.Job job) {
+        byte[][] warm = job.warmGenomes;
+        byte[] genes = new byte[warm.length * job.genomeLength];
+        for (int i = 0; i < warm.length; i++) System.arraycopy(warm[i], 0, genes, i * job.genomeLength, job.genomeLength);
+        return new GeneticCheckpoint(0, warm.length, job.genomeLength, 0, job.seed, 0, -Double.MAX_VALUE, false, 0,
+                job.generations, job.mutation, job.elitism, job.memeticInterval, job.memeticCount, 0, genes, warm[0]);
+    }
+}
@@ -0,0 +1,61 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// Read-only List<Cell> view over flattened cell indices. Cells are looked up on access, never copied.
+// Indices are row-major over a grid of the given width whose first real cell sits at (pad, pad).
+public final class GridPath extends AbstractList<Cell> implements RandomAccess {
+
+    private final Maze maze;
+    private final int[] cells;
+    private final int length;
+    private final int width;
+    private final int pad;
+
+    public GridPath(Maze maze, int[] cells, int length, int width, int pad) {
+        this.maze = maze;
+        this.cells = cells;
+        this.length = length;
+        this.width = width;
+        this.pad = pad;
+    }
+
+    public static GridPath empty(Maze maze) {
+        return new GridPath(maze, new int[0], 0, maze.cols, 0);
+    }
+
+    @Override
+    public Cell get(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+        int idx = cells[index];
+        return maze.grid[idx / width - pad][idx % width - pad];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    // Unpadded row-major indices (row * maze.cols + col), one per step.
+    public int[] toRowMajor() {
+        int[] out = new int[length];
+        for (int i = 0; i < length; i++) {
+            int idx = cells[i];
+            out[i] = (idx / width - pad) * maze.cols + (idx % width - pad);
+        }
+        return out;
+    }
+
+    public int cost() {
+        int cost = 0;
+        for (int i = 0; i < length; i++) {
+            int idx = cells[i];
+            cost += maze.grid[idx / width - pad][idx % width - pad].weight;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,356 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.SolverEvents;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class HierarchicalSolver implements PathSolver {
+
+    private static final int MAX_ENTRANCE_WIDTH = 6;
+    private static final int INF = Integer.MAX_VALUE;
+
+    private int clusterSize = 16;
+
+    private Maze maze;
+    private int rows;
+    private int cols;
+    private int clusterRows;
+    private int clusterCols;
+    private int[] weights;
+    // Per border, the cells on the first side (top/left) of each entrance; the partner is one step down/right.
+    private int[][] horizontalEntrances;
+    private int[][] verticalEntrances;
+    // Per cluster, its entrance cells and the directed cost matrix between them (INF when disconnected).
+    private int[][] clusterNodes;
+    private int[][] clusterCosts;
+
+    public void setClusterSize(int clusterSize) {
+        this.clusterSize = Math.max(2, clusterSize);
+        this.maze = null;
+    }
+
+    @Override
+    public String getName() {
+        return "HPA* (Hierarchical)";
+    }
+
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        long cells = (long) rows * cols;
+        long clusters = (long) ((rows + clusterSize - 1) / clusterSize) * ((cols + clusterSize - 1) / clusterSize);
+        // Weights plus per-cluster entrance lists and cost matrices; a handful of entrances per side is typical.
+        long entrances = 4L * clusterSize / 2;
+        return Footprint.ints(cells) + clusters * (Footprint.ints(entrances) + Footprint.ints(entrances * entrances) + 64)
+                + Footprint.heap(clusters * entrances, 8);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return getName() + "|cluster=" + clusterSize;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    public void preprocess(Maze maze) {
+        SolverEvents.Preprocess event = SolverEvents.preprocess(getName(), "clusters");
+        this.maze = maze;
+        this.rows = maze.rows;
+        this.cols = maze.cols;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+
+        weights = new int[rows * cols];
+        IntStream.range(0, rows).parallel().forEach(this::copyRowWeights);
+
+        horizontalEntrances = new int[Math.max(0, clusterRows - 1) * clusterCols][];
+        verticalEntrances = new int[clusterRows * Math.max(0, clusterCols - 1)][];
+        IntStream.range(0, horizontalEntrances.length).parallel().forEach(this::buildHorizontalBorder);
+        IntStream.range(0, verticalEntrances.length).parallel().forEach(this::buildVerticalBorder);
+
+        clusterNodes = new int[clusterRows * clusterCols][];
+        clusterCosts = new int[clusterRows * clusterCols][];
+        IntStream.range(0, clusterNodes.length).parallel().forEach(this::buildCluster);
+        event.finish((long) rows * cols, estimateMemory(rows, cols));
+    }
+
+    private void copyRowWeights(int r) {
+        for (int c = 0; c < cols; c++) {
+            Cell cell = maze.grid[r][c];
+            weights[r * cols + c] = cell.isWall ? -1 : cell.weight;
+        }
+    }
+
+    // Re-reads one cell from the maze and rebuilds only the clusters whose abstraction it can affect.
+    public void updateCell(int r, int c) {
+        if (maze == null) return;
+        Cell cell = maze.grid[r][c];
+        int newWeight = cell.isWall ? -1 : cell.weight;
+        int oldWeight = weights[r * cols + c];
+        if (newWeight == oldWeight) return;
+        weights[r * cols + c] = newWeight;
+
+        int cr = r / clusterSize, cc = c / clusterSize;
+        Set<Integer> dirty = new HashSet<>();
+        dirty.add(cr * clusterCols + cc);
+
+        if ((oldWeight < 0) != (newWeight < 0)) {
+            if (r % clusterSize == 0 && cr > 0) {
+                buildHorizontalBorder((cr - 1) * clusterCols + cc);
+                dirty.add((cr - 1) * clusterCols + cc);
+            }
+            if ((r % clusterSize == clusterSize - 1 || r == rows - 1) && cr < clusterRows - 1) {
+                buildHorizontalBorder(cr * clusterCols + cc);
+                dirty.add((cr + 1) * clusterCols + cc);
+            }
+            if (c % clusterSize == 0 && cc > 0) {
+                buildVerticalBorder(cr * (clusterCols - 1) + cc - 1);
+                dirty.add(cr * clusterCols + cc - 1);
+            }
+            if ((c % clusterSize == clusterSize - 1 || c == cols - 1) && cc < clusterCols - 1) {
+                buildVerticalBorder(cr * (clusterCols - 1) + cc);
+                dirty.add(cr * clusterCols + cc + 1);
+            }
+        }
+
+        dirty.parallelStream().forEach(this::buildCluster);
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        if (this.maze != maze) preprocess(maze);
+
+        int s = maze.start.row * cols + maze.start.col;
+        int g = maze.goal.row * cols + maze.goal.col;
+        int sCluster = clusterOf(s);
+        int gCluster = clusterOf(g);
+        long cells = (long) rows * cols;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "init");
+
+        int[] fromStart = new int[clusterSize * clusterSize];
+        int[] toGoal = new int[clusterSize * clusterSize];
+        clusterDijkstra(sCluster, s, false, fromStart, null);
+        clusterDijkstra(gCluster, g, true, toGoal, null);
+
+        // Abstract search over entrance cells, with start and goal temporarily attached to their clusters.
+        Map<Integer, Integer> best = new HashMap<>();
+        Map<Integer, Integer> parent = new HashMap<>();
+        LongMinHeap open = new LongMinHeap();
+        best.put(s, 0);
+        open.push(LongMinHeap.pack(0, s));
+        phase.finish(cells, 0);
+
+        phase = SolverEvents.phase(getName(), "search");
+        long expanded = 0;
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int u = LongMinHeap.node(entry);
+            int du = LongMinHeap.priority(entry);
+            if (du > best.get(u)) continue;
+            if (u == g) break;
+            expanded++;
+
+            if (u == s) {
+                for (int node : clusterNodes[sCluster]) {
+                    int d = fromStart[localIndex(sCluster, node)];
+                    if (d != INF) relax(best, parent, open, s, node, du + d);
+                }
+                if (sCluster == gCluster) {
+                    int d = fromStart[localIndex(sCluster, g)];
+                    if (d != INF) relax(best, parent, open, s, g, du + d);
+                }
+            }
+
+            int k = clusterOf(u);
+            int[] nodes = clusterNodes[k];
+            int i = indexOf(nodes, u);
+            if (i >= 0) {
+                int[] costs = clusterCosts[k];
+                for (int j = 0; j < nodes.length; j++) {
+                    int d = costs[i * nodes.length + j];
+                    if (j != i && d != INF) relax(best, parent, open, u, nodes[j], du + d);
+                }
+                if (k == gCluster) {
+                    int d = toGoal[localIndex(k, u)];
+                    if (d != INF) relax(best, parent, open, u, g, du + d);
+                }
+                int r = u / cols, c = u % cols;
+                if (r > 0) crossBorder(best, parent, open, u, u - cols, du);
+                if (r < rows - 1) crossBorder(best, parent, open, u, u + cols, du);
+                if (c > 0) crossBorder(best, parent, open, u, u - 1, du);
+                if (c < cols - 1) crossBorder(best, parent, open, u, u + 1, du);
+            }
+        }
+
+        phase.finish(cells, expanded);
+
+        List<Cell> path = new ArrayList<>();
+        if (!best.containsKey(g)) return path;
+
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        List<Integer> waypoints = new ArrayList<>();
+        for (Integer at = g; at != null; at = parent.get(at)) waypoints.add(at);
+        Collections.reverse(waypoints);
+
+        path.add(maze.grid[s / cols][s % cols]);
+        for (int i = 1; i < waypoints.size(); i++) {
+            refine(waypoints.get(i - 1), waypoints.get(i), path);
+        }
+        reconstruction.finish(path.size());
+        return path;
+    }
+
+    private void crossBorder(Map<Integer, Integer> best, Map<Integer, Integer> parent, LongMinHeap open,
+                             int u, int v, int du) {
+        int k = clusterOf(v);
+        if (k == clusterOf(u) || weights[v] < 0 || indexOf(clusterNodes[k], v) < 0) return;
+        relax(best, parent, open, u, v, du + weights[v]);
+    }
+
+    private static void relax(Map<Integer, Integer> best, Map<Integer, Integer> parent, LongMinHeap open,
+                              int u, int v, int d) {
+        Integer cur = best.get(v);
+        if (cur != null && cur <= d) return;
+        best.put(v, d);
+        parent.put(v, u);
+        open.push(LongMinHeap.pack(d, v));
+    }
+
+    private void refine(int from, int to, List<Cell> path) {
+        int k = clusterOf(from);
+        if (k != clusterOf(to)) {
+            path.add(maze.grid[to / cols][to % cols]);
+            return;
+        }
+        int[] dist = new int[clusterSize * clusterSize];
+        int[] prev = new int[clusterSize * clusterSize];
+        clusterDijkstra(k, from, false, dist, prev);
+
+        List<Cell> segment = new ArrayList<>();
+        for (int at = to; at != from; at = prev[localIndex(k, at)]) {
+            segment.add(maze.grid[at / cols][at % cols]);
+        }
+        Collections.reverse(segment);
+        path.addAll(segment);
+    }
+
+    private void buildHorizontalBorder(int b) {
+        int cr = b / clusterCols, cc = b % clusterCols;
+        int r = (cr + 1) * clusterSize - 1;
+        int c0 = cc * clusterSize, c1 = Math.min(cols, c0 + clusterSize);
+        horizontalEntrances[b] = scanBorder(r * cols + c0, 1, cols, c1 - c0);
+    }
+
+    private void buildVerticalBorder(int b) {
+        int cr = b / (clusterCols - 1), cc = b % (clusterCols - 1);
+        int c = (cc + 1) * clusterSize - 1;
+        int r0 = cr * clusterSize, r1 = Math.min(rows, r0 + clusterSize);
+        verticalEntrances[b] = scanBorder(r0 * cols + c, cols, 1, r1 - r0);
+    }
+
+    // Walks a border and places one entrance in the middle of short open runs, or one at each end of long ones.
+    private int[] scanBorder(int first, int step, int across, int length) {
+        List<Integer> found = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int cell = first + i * step;
+            boolean open = i < length && weights[cell] >= 0 && weights[cell + across] >= 0;
+            if (open && runStart < 0) runStart = i;
+            if (!open && runStart >= 0) {
+                int runLength = i - runStart;
+                if (runLength < MAX_ENTRANCE_WIDTH) {
+                    found.add(first + (runStart + runLength / 2) * step);
+                } else {
+                    found.add(first + runStart * step);
+                    found.add(first + (i - 1) * step);
+                }
+                runStart = -1;
+            }
+        }
+        int[] out = new int[found.size()];
+        for (int i = 0; i < out.length; i++) out[i] = found.get(i);
+        return out;
+    }
+
+    private void buildCluster(int k) {
+        int cr = k / clusterCols, cc = k % clusterCols;
+        Set<Integer> nodes = new LinkedHashSet<>();
+        if (cr > 0) for (int cell : horizontalEntrances[(cr - 1) * clusterCols + cc]) nodes.add(cell + cols);
+        if (cr < clusterRows - 1) for (int cell : horizontalEntrances[cr * clusterCols + cc]) nodes.add(cell);
+        if (cc > 0) for (int cell : verticalEntrances[cr * (clusterCols - 1) + cc - 1]) nodes.add(cell + 1);
+        if (cc < clusterCols - 1) for (int cell : verticalEntrances[cr * (clusterCols - 1) + cc]) nodes.add(cell);
+
+        int[] list = new int[nodes.size()];
+        int n = 0;
+        for (int cell : nodes) list[n++] = cell;
+
+        int[] costs = new int[n * n];
+        int[] dist = new int[clusterSize * clusterSize];
+        for (int i = 0; i < n; i++) {
+            clusterDijkstra(k, list[i], false, dist, null);
+            for (int j = 0; j < n; j++) costs[i * n + j] = dist[localIndex(k, list[j])];
+        }
+        clusterNodes[k] = list;
+        clusterCosts[k] = costs;
+    }
+
+    // Dijkstra confined to one cluster. Forward costs count every entered cell; reverse gives cost-to-source.
+    private void clusterDijkstra(int k, int source, boolean reverse, int[] dist, int[] prev) {
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        int h = Math.min(clusterSize, rows - r0), w = Math.min(clusterSize, cols - c0);
+        Arrays.fill(dist, INF);
+
+        LongMinHeap heap = new LongMinHeap(w * h);
+        int sl = (source / cols - r0) * clusterSize + (source % cols - c0);
+        dist[sl] = 0;
+        heap.push(LongMinHeap.pack(0, sl));
+
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int ul = LongMinHeap.node(entry);
+            int du = LongMinHeap.priority(entry);
+            if (du > dist[ul]) continue;
+            int lr = ul / clusterSize, lc = ul % clusterSize;
+            int step = reverse ? weights[(r0 + lr) * cols + c0 + lc] : 0;
+
+            for (int d = 0; d < 4; d++) {
+                int nr = lr + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nc = lc + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nr < 0 || nr >= h || nc < 0 || nc >= w) continue;
+                int wv = weights[(r0 + nr) * cols + c0 + nc];
+                if (wv < 0) continue;
+                int vl = nr * clusterSize + nc;
+                int nd = du + (reverse ? step : wv);
+                if (nd < dist[vl]) {
+                    dist[vl] = nd;
+                    if (prev != null) prev[vl] = (r0 + lr) * cols + c0 + lc;
+                    heap.push(LongMinHeap.pack(nd, vl));
+                }
+            }
+        }
+    }
+
+    private int clusterOf(int cell) {
+        return (cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize;
+    }
+
+    private int localIndex(int k, int cell) {
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        return (cell / cols - r0) * clusterSize + (cell % cols - c0);
+    }
+
+    private static int indexOf(int[] nodes, int cell) {
+        for (int i = 0; i < nodes.length; i++) if (nodes[i] == cell) return i;
+        return -1;
+    }
+}
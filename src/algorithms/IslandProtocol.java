@@ -0,0 +1,133 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Binary messages between DistributedGeneticSolver and GeneticWorker. Genomes travel packed 2 bits per move.
+//
+//   worker -> coordinator  HELLO     int island
+//   coordinator -> worker  JOB       GA settings, maze (1 byte per cell, 255 = wall), warm-start genomes
+//   worker -> coordinator  MIGRANTS  int generation, int k, k x (double fitness, genome)
+//   coordinator -> worker  IMMIGRANTS int n, n x genome  |  STOP
+//   worker -> coordinator  RESULT    int n, n row-major cell indices of the island's best path
+final class IslandProtocol {
+
+    static final int MAGIC = 0x4741494C;
+    static final int VERSION = 1;
+
+    static final byte MIGRANTS = 1;
+    static final byte RESULT = 2;
+    static final byte IMMIGRANTS = 3;
+    static final byte STOP = 4;
+
+    private static final int WALL = 0xFF;
+
+    private IslandProtocol() {}
+
+    static final class Job {
+        int island;
+        long seed;
+        int population;
+        int generations;
+        int genomeLength;
+        double mutation;
+        int elitism;
+        int memeticInterval;
+        int memeticCount;
+        int migrationInterval;
+        int migrants;
+        byte[][] warmGenomes = new byte[0][];
+    }
+
+    static void writeJob(DataOutputStream out, Job job, Maze maze) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(job.island);
+        out.writeLong(job.seed);
+        out.writeInt(job.population);
+        out.writeInt(job.generations);
+        out.writeInt(job.genomeLength);
+        out.writeDouble(job.mutation);
+        out.writeInt(job.elitism);
+        out.writeInt(job.memeticInterval);
+        out.writeInt(job.memeticCount);
+        out.writeInt(job.migrationInterval);
+        out.writeInt(job.migrants);
+
+        out.writeInt(maze.rows);
+        out.writeInt(maze.cols);
+        out.writeInt(maze.start.row);
+        out.writeInt(maze.start.col);
+        out.writeInt(maze.goal.row);
+        out.writeInt(maze.goal.col);
+        byte[] row = new byte[maze.cols];
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                Cell cell = maze.grid[r][c];
+                row[c] = (byte) (cell.isWall ? WALL : cell.weight);
+            }
+            out.write(row);
+        }
+
+        writeGenomes(out, job.warmGenomes);
+        out.flush();
+    }
+
+    // Returns the job; the maze is written into mazeOut[0].
+    static Job readJob(DataInputStream in, Maze[] mazeOut) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a GA coordinator");
+        if (in.readInt() != VERSION) throw new IOException("Unsupported island protocol version");
+        Job job = new Job();
+        job.island = in.readInt();
+        job.seed = in.readLong();
+        job.population = in.readInt();
+        job.generations = in.readInt();
+        job.genomeLength = in.readInt();
+        job.mutation = in.readDouble();
+        job.elitism = in.readInt();
+        job.memeticInterval = in.readInt();
+        job.memeticCount = in.readInt();
+        job.migrationInterval = in.readInt();
+        job.migrants = in.readInt();
+
+        int rows = in.readInt(), cols = in.readInt();
+        Maze maze = new Maze(rows, cols);
+        int sr = in.readInt(), sc = in.readInt(), gr = in.readInt(), gc = in.readInt();
+        byte[] row = new byte[cols];
+        for (int r = 0; r < rows; r++) {
+            in.readFully(row);
+            for (int c = 0; c < cols; c++) {
+                Cell cell = new Cell(r, c);
+                int v = row[c] & 0xFF;
+                if (v == WALL) cell.isWall = true;
+                else cell.weight = v;
+                maze.grid[r][c] = cell;
+            }
+        }
+        maze.start = maze.grid[sr][sc];
+        maze.start.isStart = true;
+        maze.goal = maze.grid[gr][gc];
+        maze.goal.isGoal = true;
+        mazeOut[0] = maze;
+
+        job.warmGenomes = readGenomes(in, job.genomeLength);
+        return job;
+    }
+
+    static void writeGenomes(DataOutputStream out, byte[][] genomes) throws IOException {
+        out.writeInt(genomes.length);
+        for (byte[] genome : genomes) out.write(GeneticCheckpoint.pack(genome));
+    }
+
+    static byte[][] readGenomes(DataInputStream in, int genomeLength) throws IOException {
+        int n = in.readInt();
+        if (n < 0 || n > 1 << 20) throw new IOException("Corrupt genome count: " + n);
+        byte[][] genomes = new byte[n][];
+        for (int i = 0; i < n; i++) genomes[i] = GeneticCheckpoint.unpack(in, genomeLength);
+        return genomes;
+    }
+}
@@ -0,0 +1,135 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+import utils.SolverEvents;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// ALT (A*, Landmarks, Triangle inequality) lower bounds from precomputed landmark distance tables.
+public class LandmarkHeuristic {
+
+    private static final int INF = Integer.MAX_VALUE;
+
+    public final Maze maze;
+    private final int cols;
+    private final int[] landmarks;
+    private final int[][] fromLandmark;
+    private final int[][] toLandmark;
+
+    private LandmarkHeuristic(Maze maze, int[] landmarks, int[][] fromLandmark, int[][] toLandmark) {
+        this.maze = maze;
+        this.cols = maze.cols;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    public static LandmarkHeuristic build(Maze maze, int count) {
+        int rows = maze.rows, cols = maze.cols;
+        SolverEvents.Preprocess event = SolverEvents.preprocess("ALT", "landmarks");
+        int[] weights = new int[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = maze.grid[r][c];
+                weights[r * cols + c] = cell.isWall ? -1 : cell.weight;
+            }
+        }
+
+        int[] chosen = pickPerimeterLandmarks(weights, rows, cols, count);
+        int[][] from = new int[chosen.length][];
+        int[][] to = new int[chosen.length][];
+
+        // Forward and reverse tables for each landmark are independent, so all 2K runs go in parallel.
+        IntStream.range(0, chosen.length * 2).parallel().forEach(job -> {
+            int i = job >> 1;
+            if ((job & 1) == 0) from[i] = dijkstra(weights, rows, cols, chosen[i], false);
+            else to[i] = dijkstra(weights, rows, cols, chosen[i], true);
+        });
+
+        event.finish((long) rows * cols, 2L * chosen.length * (4L * rows * cols));
+        return new LandmarkHeuristic(maze, chosen, from, to);
+    }
+
+    public int estimate(int cell, int goal) {
+        int best = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            int[] f = fromLandmark[i];
+            if (f[goal] != INF && f[cell] != INF) best = Math.max(best, f[goal] - f[cell]);
+            int[] t = toLandmark[i];
+            if (t[cell] != INF && t[goal] != INF) best = Math.max(best, t[cell] - t[goal]);
+        }
+        return best;
+    }
+
+    public int estimate(Cell a, Cell b) {
+        return estimate(a.row * cols + a.col, b.row * cols + b.col);
+    }
+
+    // Spreads landmarks evenly along the maze perimeter, snapping each to the nearest open cell.
+    private static int[] pickPerimeterLandmarks(int[] weights, int rows, int cols, int count) {
+        int perimeter = 2 * (rows + cols);
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            int p = (int) ((long) perimeter * i / count);
+            int tr, tc;
+            if (p < cols) { tr = 0; tc = p; }
+            else if (p < cols + rows) { tr = p - cols; tc = cols - 1; }
+            else if (p < 2 * cols + rows) { tr = rows - 1; tc = cols - 1 - (p - cols - rows); }
+            else { tr = rows - 1 - (p - 2 * cols - rows); tc = 0; }
+
+            int best = -1;
+            long bestDist = Long.MAX_VALUE;
+            for (int k = 0; k < weights.length; k++) {
+                if (weights[k] < 0) continue;
+                long dr = k / cols - tr, dc = k % cols - tc;
+                long d = dr * dr + dc * dc;
+                if (d < bestDist) {
+                    bestDist = d;
+                    best = k;
+                }
+            }
+            if (best >= 0) picked.add(best);
+        }
+        int[] out = new int[picked.size()];
+        int n = 0;
+        for (int k : picked) out[n++] = k;
+        return out;
+    }
+
+    private static int[] dijkstra(int[] weights, int rows, int cols, int source, boolean reverse) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, INF);
+        LongMinHeap heap = new LongMinHeap();
+        dist[source] = 0;
+        heap.push(LongMinHeap.pack(0, source));
+
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int u = LongMinHeap.node(entry);
+            int du = LongMinHeap.priority(entry);
+            if (du > dist[u]) continue;
+            int r = u / cols, c = u % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nc = c + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int v = nr * cols + nc;
+                if (weights[v] < 0) continue;
+                int nd = du + (reverse ? weights[u] : weights[v]);
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    heap.push(LongMinHeap.pack(nd, v));
+                }
+            }
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,79 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Binary min-heap of primitive longs. Callers pack (priority << 32 | node) and skip stale entries on pop.
+public class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap() {
+        this(64);
+    }
+
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(4, capacity)];
+    }
+
+    public static long pack(int priority, int node) {
+        return ((long) priority << 32) | (node & 0xFFFFFFFFL);
+    }
+
+    public static int priority(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    public static int node(long entry) {
+        return (int) entry;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void push(long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= value) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = value;
+    }
+
+    // Raw access in heap order, for scans that must see every queued entry.
+    public long get(int index) {
+        return heap[index];
+    }
+
+    public long peek() {
+        return heap[0];
+    }
+
+    public long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
@@ -0,0 +1,174 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Local improvement for GA genomes on the padded grid: drops wall bumps, erases loops and splices in
+// cheaper detours found by a small bounded search around each path point, then rewrites the genes.
+final class MemeticRepair {
+
+    private static final int SEARCH_BUDGET = 48;
+
+    private final boolean[] walls;
+    private final int[] weights;
+    private final int[] offsets;
+    private final int start;
+    private final int goal;
+    private final ThreadLocal<Scratch> scratch;
+
+    MemeticRepair(boolean[] walls, int[] weights, int[] offsets, int start, int goal, int genomeLength) {
+        this.walls = walls;
+        this.weights = weights;
+        this.offsets = offsets;
+        this.start = start;
+        this.goal = goal;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(walls.length, genomeLength));
+    }
+
+    // Rewrites genes[offset, offset + length) in place. Returns false if the genome was left untouched.
+    boolean improve(byte[] genes, int offset, int length) {
+        Scratch s = scratch.get();
+        s.ensure(walls.length, length);
+
+        int n = PathUtils.walkGenes(genes, offset, length, walls, offsets, start, goal, s.path);
+        n = s.eraser.erase(s.path, n);
+        int m = shortcut(s.path, n, s.out, s);
+        m = s.eraser.erase(s.out, m);
+
+        int moves = m - 1;
+        if (moves > length) return false;
+        boolean changed = false;
+        for (int i = 0; i < moves; i++) {
+            byte gene = direction(s.out[i + 1] - s.out[i]);
+            if (genes[offset + i] != gene) {
+                genes[offset + i] = gene;
+                changed = true;
+            }
+        }
+        // The tail keeps its old genes: unused after the goal, extra exploration from the endpoint otherwise.
+        return changed;
+    }
+
+    private int shortcut(int[] path, int n, int[] out, Scratch s) {
+        long[] prefix = s.prefix;
+        prefix[0] = 0;
+        for (int i = 1; i < n; i++) prefix[i] = prefix[i - 1] + weights[path[i]];
+
+        int m = 0;
+        out[m++] = path[0];
+        int i = 0;
+        while (i < n - 1) {
+            int target = localSearch(path, prefix, i, s);
+            if (target < 0) {
+                if (m == out.length) return copyThrough(path, n, out);
+                out[m++] = path[++i];
+                continue;
+            }
+            int routeLen = 0;
+            for (int v = path[target]; v != path[i]; v = s.parent[v]) s.route[routeLen++] = v;
+            if (m + routeLen > out.length) return copyThrough(path, n, out);
+            for (int k = routeLen - 1; k >= 0; k--) out[m++] = s.route[k];
+            i = target;
+        }
+        return m;
+    }
+
+    private static int copyThrough(int[] path, int n, int[] out) {
+        System.arraycopy(path, 0, out, 0, n);
+        return n;
+    }
+
+    // Bounded uniform-cost search from path[i]; returns the later path index with the largest saving, or -1.
+    private int localSearch(int[] path, long[] prefix, int i, Scratch s) {
+        int epoch = s.nextSearchEpoch();
+        int source = path[i];
+        LongMinHeap heap = s.heap;
+        heap.clear();
+        s.seen[source] = epoch;
+        s.dist[source] = 0;
+        heap.push(LongMinHeap.pack(0, source));
+
+        int best = -1;
+        long bestSaving = 0;
+        int expanded = 0;
+        while (!heap.isEmpty() && expanded < SEARCH_BUDGET) {
+            long entry = heap.pop();
+            int u = LongMinHeap.node(entry);
+            int du = LongMinHeap.priority(entry);
+            if (du > s.dist[u]) continue;
+            expanded++;
+
+            int j = s.eraser.positionOf(u);
+            if (j > i + 1) {
+                long saving = prefix[j] - prefix[i] - du;
+                if (saving > bestSaving) {
+                    bestSaving = saving;
+                    best = j;
+                }
+            }
+
+            for (int offset : offsets) {
+                int v = u + offset;
+                if (walls[v]) continue;
+                int nd = du + weights[v];
+                if (s.seen[v] != epoch || nd < s.dist[v]) {
+                    s.seen[v] = epoch;
+                    s.dist[v] = nd;
+                    s.parent[v] = u;
+                    heap.push(LongMinHeap.pack(nd, v));
+                }
+            }
+        }
+        return best;
+    }
+
+    private byte direction(int delta) {
+        for (byte d = 0; d < offsets.length; d++) {
+            if (offsets[d] == delta) return d;
+        }
+        throw new IllegalStateException("Non-adjacent step in repaired path");
+    }
+
+    // Heap held by each thread that runs a repair.
+    static long scratchBytes(long gridSize, int genomeLength) {
+        return 5 * Footprint.ints(gridSize) + 2 * Footprint.ints(genomeLength + 1L) + Footprint.longs(genomeLength + 1L)
+                + Footprint.ints(SEARCH_BUDGET * 4L + 1) + Footprint.longs(SEARCH_BUDGET * 4L);
+    }
+
+    private static final class Scratch {
+        final PathUtils.LoopEraser eraser;
+        int[] seen, dist, parent;
+        int[] path, out, route;
+        long[] prefix;
+        final LongMinHeap heap = new LongMinHeap(SEARCH_BUDGET * 4);
+        int searchEpoch;
+
+        Scratch(int gridSize, int genomeLength) {
+            eraser = new PathUtils.LoopEraser(gridSize);
+            allocate(gridSize, genomeLength);
+        }
+
+        void ensure(int gridSize, int genomeLength) {
+            eraser.ensureCapacity(gridSize);
+            if (seen.length < gridSize || path.length < genomeLength + 1) allocate(gridSize, genomeLength);
+        }
+
+        private void allocate(int gridSize, int genomeLength) {
+            seen = new int[gridSize];
+            dist = new int[gridSize];
+            parent = new int[gridSize];
+            path = new int[genomeLength + 1];
+            out = new int[genomeLength + 1];
+            route = new int[SEARCH_BUDGET * 4 + 1];
+            prefix = new long[genomeLength + 1];
+            searchEpoch = 0;
+        }
+
+        int nextSearchEpoch() {
+            if (++searchEpoch == 0) {
+                Arrays.fill(seen, 0);
+                searchEpoch = 1;
+            }
+            return searchEpoch;
+        }
+    }
+}
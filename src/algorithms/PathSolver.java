@@ -7,4 +7,33 @@ import java.util.List;
 public interface PathSolver {
     List<Cell> solve(Maze maze);
     String getName();
+
+    default boolean isExact() {
+        return true;
+    }
+
+    default boolean isParallel() {
+        return !isExact();
+    }
+
+    default SearchStats getStats() {
+        return null;
+    }
+
+    // Approximate peak heap this solver allocates for a rows x cols maze with its current settings, excluding
+    // the maze itself. Solvers override this with their own array sizes.
+    default long estimateMemory(int rows, int cols) {
+        return Footprint.intGrid(rows, cols) * 4;
+    }
+
+    // Applies budgetBytes to the following solves, shrinking tunable sizes where the solver has any; a later
+    // call replaces it. Returns false if the working set cannot fit, in which case the solve should be rejected.
+    default boolean fitMemory(long budgetBytes, int rows, int cols) {
+        return estimateMemory(rows, cols) <= budgetBytes;
+    }
+
+    // Identifies every setting that can change the returned path; used to key cached results.
+    default String getConfigKey() {
+        return getName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+// Path helpers over flattened int cell indices, shared by the exact and evolutionary solvers.
+public final class PathUtils {
+
+    public static final int NO_PARENT = -1;
+
+    private PathUtils() {}
+
+    // Start-to-goal cells from a parent chain ending in NO_PARENT. The chain is walked twice instead of reversed.
+    public static int[] fromParents(int[] parent, int goal) {
+        return fromParents(i -> parent[i], goal);
+    }
+
+    public static int[] fromParents(IntUnaryOperator parentOf, int goal) {
+        int length = 0;
+        for (int idx = goal; idx != NO_PARENT; idx = parentOf.applyAsInt(idx)) length++;
+        int[] path = new int[length];
+        for (int idx = goal, i = length - 1; idx != NO_PARENT; idx = parentOf.applyAsInt(idx)) path[i--] = idx;
+        return path;
+    }
+
+    // Replays move genes on a padded grid, skipping wall bumps; stops at the goal. Returns the number of cells written.
+    public static int walkGenes(byte[] genes, int offset, int limit, boolean[] walls, int[] offsets,
+                                int start, int goal, int[] out) {
+        int curr = start;
+        int n = 0;
+        out[n++] = curr;
+        for (int i = 0; i < limit && curr != goal; i++) {
+            int next = curr + offsets[genes[offset + i]];
+            if (walls[next]) continue;
+            curr = next;
+            out[n++] = curr;
+        }
+        return n;
+    }
+
+    // Reusable loop eraser: visited marks are epoch stamps, so nothing is cleared between calls.
+    public static final class LoopEraser {
+        private int[] stamp;
+        private int[] pos;
+        private int epoch;
+
+        public LoopEraser(int gridSize) {
+            stamp = new int[gridSize];
+            pos = new int[gridSize];
+        }
+
+        public void ensureCapacity(int gridSize) {
+            if (stamp.length < gridSize) {
+                stamp = new int[gridSize];
+                pos = new int[gridSize];
+                epoch = 0;
+            }
+        }
+
+        // Erases loops in place (chronological: a revisit cuts back to the first visit) and returns the new length.
+        public int erase(int[] path, int n) {
+            int e = nextEpoch();
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int cell = path[i];
+                int p = pos[cell];
+                if (stamp[cell] == e && p < m && path[p] == cell) {
+                    m = p + 1;
+                } else {
+                    stamp[cell] = e;
+                    pos[cell] = m;
+                    path[m++] = cell;
+                }
+            }
+            // Cells cut off by a revisit keep a stale stamp; restamp the survivors so positionOf is exact.
+            e = nextEpoch();
+            for (int i = 0; i < m; i++) {
+                stamp[path[i]] = e;
+                pos[path[i]] = i;
+            }
+            return m;
+        }
+
+        // Position of a cell in the most recently erased path, or -1.
+        public int positionOf(int cell) {
+            return stamp[cell] == epoch ? pos[cell] : -1;
+        }
+
+        private int nextEpoch() {
+            if (++epoch == 0) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package algorithms;
+
+import java.util.SplittableRandom;
+
+// Counter-based RNG streams: the stream for (seed, generation, individual) never depends on which thread draws it.
+final class RandomStreams {
+
+    static final int INITIAL_GENERATION = -1;
+
+    private RandomStreams() {}
+
+    static SplittableRandom forIndividual(long seed, int generation, int individual) {
+        long key = mix(seed + 0x9E3779B97F4A7C15L * (generation + 1L));
+        return new SplittableRandom(mix(key ^ (individual * 0xC2B2AE3D27D4EB4FL)));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,62 @@
+package algorithms;
+
+import java.util.Arrays;
+
+public class SearchStats {
+
+    public long nodesExpanded;
+    public long relaxations;
+    public long heapPushes;
+    public long heapPops;
+    public long decreaseKeys;
+    public int peakFrontier;
+    public double timeMs;
+
+    public int rows;
+    public int cols;
+    // Expansion order per cell (row-major), -1 when never expanded. Only filled when tracing is enabled.
+    public int[] visitOrder;
+
+    private final boolean traceVisits;
+
+    public SearchStats() {
+        this(false);
+    }
+
+    public SearchStats(boolean traceVisits) {
+        this.traceVisits = traceVisits;
+    }
+
+    public void reset(int rows, int cols) {
+        nodesExpanded = 0;
+        relaxations = 0;
+        heapPushes = 0;
+        heapPops = 0;
+        decreaseKeys = 0;
+        peakFrontier = 0;
+        timeMs = 0;
+        this.rows = rows;
+        this.cols = cols;
+        if (traceVisits) {
+            if (visitOrder == null || visitOrder.length != rows * cols) visitOrder = new int[rows * cols];
+            Arrays.fill(visitOrder, -1);
+        } else {
+            visitOrder = null;
+        }
+    }
+
+    public void expand(int row, int col) {
+        if (visitOrder != null) visitOrder[row * cols + col] = (int) nodesExpanded;
+        nodesExpanded++;
+    }
+
+    public void frontier(int size) {
+        if (size > peakFrontier) peakFrontier = size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Expanded: %d | Relaxations: %d | Pushes: %d | Pops: %d | Decrease-keys: %d | Peak frontier: %d",
+                nodesExpanded, relaxations, heapPushes, heapPops, decreaseKeys, peakFrontier);
+    }
+}
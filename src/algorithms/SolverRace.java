@@ -0,0 +1,122 @@
+package algorithms;
+
+import models.Cell;
+import models.Maze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class SolverRace {
+
+    public static class Result {
+        public final int index;
+        public final PathSolver solver;
+        public final List<Cell> path;
+        public final int cost;
+        public final double timeMs;
+        public final boolean success;
+        public final String error;
+
+        Result(int index, PathSolver solver, List<Cell> path, double timeMs, String error) {
+            this.index = index;
+            this.solver = solver;
+            this.path = path == null ? new ArrayList<>() : path;
+            this.cost = this.path.stream().mapToInt(c -> c.weight).sum();
+            this.timeMs = timeMs;
+            this.success = !this.path.isEmpty() && this.path.get(this.path.size() - 1).isGoal;
+            this.error = error;
+        }
+
+        public double optimalityGap(int referenceCost) {
+            if (!success || referenceCost <= 0) return success ? 0.0 : Double.NaN;
+            return (double) (cost - referenceCost) / referenceCost;
+        }
+    }
+
+    private final int cpuBudget;
+
+    public SolverRace() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SolverRace(int cpuBudget) {
+        this.cpuBudget = Math.max(1, cpuBudget);
+    }
+
+    public List<Result> run(Maze maze, List<PathSolver> solvers, Consumer<Result> onResult) {
+        int sequentialCount = 0;
+        for (PathSolver s : solvers) if (!s.isParallel()) sequentialCount++;
+
+        // Sequential solvers each get a core; parallel solvers (GA, delta-stepping) share what is left
+        // because streams started inside a ForkJoinPool task run on that pool instead of the common pool.
+        int exactThreads = Math.max(1, Math.min(sequentialCount, cpuBudget - 1));
+        int gaParallelism = Math.max(1, cpuBudget - exactThreads);
+        ExecutorService exactPool = Executors.newFixedThreadPool(exactThreads, r -> {
+            Thread t = new Thread(r, "race-exact");
+            t.setDaemon(true);
+            return t;
+        });
+        ForkJoinPool gaPool = new ForkJoinPool(gaParallelism);
+
+        List<Future<Result>> futures = new ArrayList<>();
+        BlockingQueue<Future<Result>> done = new LinkedBlockingQueue<>();
+
+        try {
+            for (int i = 0; i < solvers.size(); i++) {
+                PathSolver solver = solvers.get(i);
+                int index = i;
+                FutureTask<Result> task = new FutureTask<Result>(() -> timedSolve(index, solver, maze)) {
+                    @Override
+                    protected void done() {
+                        done.add(this);
+                    }
+                };
+                futures.add(task);
+                if (!solver.isParallel()) exactPool.execute(task);
+                else gaPool.execute(task);
+            }
+
+            Result[] results = new Result[solvers.size()];
+            for (int received = 0; received < solvers.size(); received++) {
+                Result r = done.take().get();
+                results[r.index] = r;
+                if (onResult != null) onResult.accept(r);
+            }
+            List<Result> list = new ArrayList<>();
+            for (Result r : results) list.add(r);
+            return list;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Future<Result> f : futures) f.cancel(true);
+            return new ArrayList<>();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            exactPool.shutdownNow();
+            gaPool.shutdownNow();
+        }
+    }
+
+    public static int referenceCost(List<Result> results) {
+        int best = Integer.MAX_VALUE;
+        for (Result r : results) {
+            if (r != null && r.success && r.solver.isExact()) best = Math.min(best, r.cost);
+        }
+        if (best == Integer.MAX_VALUE) {
+            for (Result r : results) if (r != null && r.success) best = Math.min(best, r.cost);
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    private static Result timedSolve(int index, PathSolver solver, Maze maze) {
+        long start = System.nanoTime();
+        try {
+            List<Cell> path = solver.solve(maze);
+            return new Result(index, solver, path, (System.nanoTime() - start) / 1_000_000.0, null);
+        } catch (RuntimeException e) {
+            return new Result(index, solver, null, (System.nanoTime() - start) / 1_000_000.0, e.toString());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package algorithms;
+
+import models.Cell;
+import models.GridStore;
+import models.Maze;
+import utils.SolverEvents;
+import utils.TiledFile;
+import utils.TiledMazeStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+// Exact Dijkstra for mazes larger than the heap. Distances and parents live in a scratch TiledFile, whose
+// tiles are read into a fixed pool of direct buffers. It uses the same tiling as the maze and numbers nodes
+// tile-major, so equal-distance frontier entries are popped tile by tile, which keeps the resident set small.
+public class TiledDijkstraSolver implements PathSolver {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+    private static final int UNREACHED = 0;
+
+    private int tileSize = TiledMazeStore.DEFAULT_TILE_SIZE;
+    private int residentTiles = TiledMazeStore.DEFAULT_RESIDENT_TILES;
+    private File scratchDir = new File(System.getProperty("java.io.tmpdir"));
+    private SearchStats stats;
+    private long scratchTileLoads;
+
+    // Ignored for TiledMazeStore inputs, which always use the store's own tiling.
+    public void setTileSize(int tileSize) {
+        if (Integer.bitCount(tileSize) != 1) throw new IllegalArgumentException("Tile size must be a power of two");
+        this.tileSize = tileSize;
+    }
+
+    public void setResidentTiles(int residentTiles) {
+        this.residentTiles = Math.max(4, residentTiles);
+    }
+
+    public void setScratchDir(File scratchDir) {
+        this.scratchDir = scratchDir;
+    }
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    public long getScratchTileLoads() {
+        return scratchTileLoads;
+    }
+
+    @Override
+    public String getName() {
+        return "Dijkstra (Tiled, Out-of-Core)";
+    }
+
+    // Search state lives in scratch tiles in direct buffers outside the heap; only the frontier is on-heap.
+    @Override
+    public long estimateMemory(int rows, int cols) {
+        return Footprint.heap(8L * (rows + cols), 8) + Footprint.longs(rows + cols);
+    }
+
+    @Override
+    public List<Cell> solve(Maze maze) {
+        long[] path = solve((GridStore) maze);
+        int[] cells = new int[path.length];
+        for (int i = 0; i < path.length; i++) cells[i] = (int) path[i];
+        return new GridPath(maze, cells, cells.length, maze.cols, 0);
+    }
+
+    // Returns the optimal path as row-major cell indices (row * cols + col), or an empty array if unreachable.
+    public long[] solve(GridStore grid) {
+        int t = grid instanceof TiledMazeStore ? ((TiledMazeStore) grid).tileSize() : tileSize;
+        int rows = grid.rowCount(), cols = grid.colCount();
+        Tiling tiling = new Tiling(rows, cols, t);
+
+        File scratch;
+        try {
+            scratchDir.mkdirs();
+            scratch = File.createTempFile("dijkstra-", ".tiles", scratchDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (TiledFile state = new TiledFile(scratch, 0, tiling.area * 5, tiling.tileCount, residentTiles,
+                TiledFile.Access.SCRATCH)) {
+            long[] path = search(grid, tiling, state);
+            scratchTileLoads = state.getTileLoads();
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            scratch.delete();
+        }
+    }
+
+    private long[] search(GridStore grid, Tiling tiling, TiledFile state) {
+        SearchStats st = stats;
+        long startTime = System.nanoTime();
+        if (st != null) st.reset(grid.rowCount(), grid.colCount());
+
+        int rows = grid.rowCount(), cols = grid.colCount();
+        long cells = (long) rows * cols;
+        SolverEvents.SolverPhase phase = SolverEvents.phase(getName(), "search");
+        long expanded = 0;
+        long startId = tiling.id(grid.startRow(), grid.startCol());
+        long goalId = tiling.id(grid.goalRow(), grid.goalCol());
+
+        // Each scratch tile holds area ints of (dist + 1), 0 meaning unreached, followed by area parent-direction bytes.
+        setDist(state, tiling, startId, 0, -1);
+        LongMinHeap open = new LongMinHeap();
+        open.push(LongMinHeap.pack(0, (int) startId));
+        if (st != null) st.heapPushes++;
+
+        boolean found = false;
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            long u = entry & 0xFFFFFFFFL;
+            int du = LongMinHeap.priority(entry);
+            if (du > dist(state, tiling, u)) continue;
+            int ur = tiling.row(u), uc = tiling.col(u);
+            expanded++;
+            if (st != null) {
+                st.heapPops++;
+                st.expand(ur, uc);
+            }
+            if (u == goalId) {
+                found = true;
+                break;
+            }
+
+            for (int d = 0; d < 4; d++) {
+                int nr = ur + DR[d], nc = uc + DC[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int w = grid.weight(nr, nc);
+                if (w < 0) continue;
+                long nd = (long) du + w;
+                if (nd >= Integer.MAX_VALUE - 1) throw new IllegalStateException("Path cost exceeds int range");
+                long v = tiling.id(nr, nc);
+                int dv = dist(state, tiling, v);
+                if (dv != Integer.MAX_VALUE && nd >= dv) continue;
+                setDist(state, tiling, v, (int) nd, d);
+                open.push(LongMinHeap.pack((int) nd, (int) v));
+                if (st != null) {
+                    st.relaxations++;
+                    st.heapPushes++;
+                    st.frontier(open.size());
+                }
+            }
+        }
+
+        phase.finish(cells, expanded);
+        if (st != null) st.timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        if (!found) return new long[0];
+
+        // Walk parent directions back from the goal, then reverse.
+        SolverEvents.PathReconstruction reconstruction = SolverEvents.reconstruction(getName());
+        long[] path = new long[1024];
+        int n = 0;
+        int r = grid.goalRow(), c = grid.goalCol();
+        while (true) {
+            if (n == path.length) path = Arrays.copyOf(path, n * 2);
+            path[n++] = (long) r * cols + c;
+            int dir = parentDir(state, tiling, tiling.id(r, c));
+            if (dir < 0) break;
+            r -= DR[dir];
+            c -= DC[dir];
+        }
+        long[] out = new long[n];
+        for (int i = 0; i < n; i++) out[i] = path[n - 1 - i];
+        reconstruction.finish(n);
+        return out;
+    }
+
+    private static int dist(TiledFile state, Tiling tiling, long id) {
+        int stored = state.tile(tiling.tile(id)).getInt(tiling.local(id) << 2);
+        return stored == UNREACHED ? Integer.MAX_VALUE : stored - 1;
+    }
+
+    private static int parentDir(TiledFile state, Tiling tiling, long id) {
+        return state.tile(tiling.tile(id)).get((tiling.area << 2) + tiling.local(id)) - 1;
+    }
+
+    private static void setDist(TiledFile state, Tiling tiling, long id, int dist, int parentDir) {
+        ByteBuffer tile = state.tileForWrite(tiling.tile(id));
+        int local = tiling.local(id);
+        tile.putInt(local << 2, dist + 1);
+        tile.put((tiling.area << 2) + local, (byte) (parentDir + 1));
+    }
+
+    // Tile-major node numbering: id = tile * area + local, with tiles laid out row by row.
+    private static final class Tiling {
+        final int size;
+        final int shift;
+        final int area;
+        final int tilesAcross;
+        final int tileCount;
+
+        Tiling(int rows, int cols, int size) {
+            this.size = size;
+            this.shift = Integer.numberOfTrailingZeros(size);
+            this.area = size * size;
+            this.tilesAcross = (cols + size - 1) / size;
+            long count = (long) ((rows + size - 1) / size) * tilesAcross;
+            if (count * area > 0xFFFFFFFFL) throw new IllegalArgumentException("Maze too large for 32-bit node ids");
+            if ((long) area * 5 > Integer.MAX_VALUE) throw new IllegalArgumentException("Tile size too large");
+            this.tileCount = (int) count;
+        }
+
+        long id(int row, int col) {
+            long tile = (long) (row >>> shift) * tilesAcross + (col >>> shift);
+            return tile * area + (((row & (size - 1)) << shift) | (col & (size - 1)));
+        }
+
+        int tile(long id) {
+            return (int) (id >>> (shift << 1));
+        }
+
+        int local(long id) {
+            return (int) (id & (area - 1));
+        }
+
+        int row(long id) {
+            return (tile(id) / tilesAcross << shift) + (local(id) >>> shift);
+        }
+
+        int col(long id) {
+            return (tile(id) % tilesAcross << shift) + (local(id) & (size - 1));
+        }
+    }
+}
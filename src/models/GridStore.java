@@ -0,0 +1,21 @@
+package models;
+
+// Read access to maze content without materialising Cell objects, so backends can live off-heap or on disk.
+public interface GridStore {
+    int rowCount();
+    int colCount();
+
+    // Entry cost of a cell, or -1 for walls.
+    int weight(int row, int col);
+
+    // Writes the row's weights (-1 for walls) into dst starting at offset.
+    default void copyRow(int row, int[] dst, int offset) {
+        int cols = colCount();
+        for (int c = 0; c < cols; c++) dst[offset + c] = weight(row, c);
+    }
+
+    int startRow();
+    int startCol();
+    int goalRow();
+    int goalCol();
+}
@@ -1,6 +1,6 @@
 package models;
 
-public class Maze {
+public class Maze implements GridStore {
     public Cell[][] grid;
     public int rows;
     public int cols;
@@ -16,4 +16,40 @@ public class Maze {
     public boolean isValid(int r, int c) {
         return r >= 0 && r < rows && c >= 0 && c < cols && !grid[r][c].isWall;
     }
+
+    @Override
+    public int rowCount() {
+        return rows;
+    }
+
+    @Override
+    public int colCount() {
+        return cols;
+    }
+
+    @Override
+    public int weight(int row, int col) {
+        Cell cell = grid[row][col];
+        return cell.isWall ? -1 : cell.weight;
+    }
+
+    @Override
+    public int startRow() {
+        return start.row;
+    }
+
+    @Override
+    public int startCol() {
+        return start.col;
+    }
+
+    @Override
+    public int goalRow() {
+        return goal.row;
+    }
+
+    @Override
+    public int goalCol() {
+        return goal.col;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package models;
+
+import java.util.Arrays;
+
+// Read-only maze stored as run-length encoded rows: each run is one int packing its start column and its
+// weight (-1 for walls). A mostly open, uniform-weight map costs a few runs per row instead of a Cell per
+// cell. Point lookups read the runs in place: each row remembers the run its last lookup landed in, so the
+// neighbour queries of a search, which stay near the previous column, rarely need the binary search and
+// never allocate.
+public class RunLengthGrid implements GridStore {
+
+    public static final int MAX_COLS = 1 << 21;
+    public static final int MAX_WEIGHT = (1 << 10) - 2;
+
+    private static final int WEIGHT_BITS = 10;
+    private static final int WEIGHT_MASK = (1 << WEIGHT_BITS) - 1;
+    // Estimated heap of one Cell plus its slot in the row array, for compressionRatio.
+    private static final long CELL_BYTES = 36;
+
+    private final int rows;
+    private final int cols;
+    // Runs of row r are runs[rowStart[r] .. rowStart[r + 1]), in column order, each (startCol << 10 | weight + 1).
+    private final int[] rowStart;
+    private final int[] runs;
+    private final int startRow, startCol, goalRow, goalCol;
+    // Index into runs of the last run looked up in each row. Racing threads may overwrite each other's hint;
+    // a stale one only costs a binary search.
+    private final int[] lastRun;
+
+    private RunLengthGrid(Builder b) {
+        this.rows = b.rows;
+        this.cols = b.cols;
+        this.rowStart = Arrays.copyOf(b.rowStart, b.rows + 1);
+        this.runs = Arrays.copyOf(b.runs, b.runCount);
+        this.startRow = b.startRow;
+        this.startCol = b.startCol;
+        this.goalRow = b.goalRow;
+        this.goalCol = b.goalCol;
+        this.lastRun = Arrays.copyOf(rowStart, rows);
+    }
+
+    // Rows are added top to bottom, so a parser can stream a maze of unknown height; runs of equal weight
+    // are merged as they arrive. The goal defaults to the bottom-right cell.
+    public static class Builder {
+        private final int cols;
+        private int[] rowStart = new int[65];
+        private int[] runs = new int[64];
+        private int runCount;
+        private int rows;
+        private int startRow, startCol;
+        private int goalRow = -1, goalCol = -1;
+
+        public Builder(int cols) {
+            if (cols <= 0 || cols > MAX_COLS) throw new IllegalArgumentException("Columns must be 1.." + MAX_COLS + ": " + cols);
+            this.cols = cols;
+        }
+
+        // weights[offset .. offset + cols) holds the row, -1 for walls.
+        public Builder addRow(int[] weights, int offset) {
+            if (rows + 2 > rowStart.length) rowStart = Arrays.copyOf(rowStart, rowStart.length * 2);
+            rowStart[rows] = runCount;
+            int previous = Integer.MIN_VALUE;
+            for (int c = 0; c < cols; c++) {
+                int w = weights[offset + c];
+                if (w == previous) continue;
+                if (w < -1 || w > MAX_WEIGHT) throw new IllegalArgumentException("Weight out of range at (" + rows + ", " + c + "): " + w);
+                if (runCount == runs.length) runs = Arrays.copyOf(runs, runCount * 2);
+                runs[runCount++] = c << WEIGHT_BITS | (w + 1);
+                previous = w;
+            }
+            rowStart[++rows] = runCount;
+            return this;
+        }
+
+        public int rowCount() {
+            return rows;
+        }
+
+        public Builder setStart(int row, int col) {
+            this.startRow = row;
+            this.startCol = col;
+            return this;
+        }
+
+        public Builder setGoal(int row, int col) {
+            this.goalRow = row;
+            this.goalCol = col;
+            return this;
+        }
+
+        public RunLengthGrid build() {
+            if (rows == 0) throw new IllegalStateException("No rows added");
+            if (goalRow < 0) setGoal(rows - 1, cols - 1);
+            return new RunLengthGrid(this);
+        }
+    }
+
+    public static RunLengthGrid of(GridStore grid) {
+        int rows = grid.rowCount(), cols = grid.colCount();
+        Builder builder = new Builder(cols);
+        int[] row = new int[cols];
+        for (int r = 0; r < rows; r++) {
+            grid.copyRow(r, row, 0);
+            builder.addRow(row, 0);
+        }
+        return builder.setStart(grid.startRow(), grid.startCol()).setGoal(grid.goalRow(), grid.goalCol()).build();
+    }
+
+    // Materialises Cell objects for the solvers that need a Maze. Start and goal keep their stored weights.
+    public Maze toMaze() {
+        Maze maze = new Maze(rows, cols);
+        int[] row = new int[cols];
+        for (int r = 0; r < rows; r++) {
+            copyRow(r, row, 0);
+            for (int c = 0; c < cols; c++) {
+                Cell cell = new Cell(r, c);
+                if (row[c] < 0) cell.isWall = true;
+                else cell.weight = row[c];
+                maze.grid[r][c] = cell;
+            }
+        }
+        maze.start = maze.grid[startRow][startCol];
+        maze.start.isStart = true;
+        maze.goal = maze.grid[goalRow][goalCol];
+        maze.goal.isGoal = true;
+        return maze;
+    }
+
+    @Override
+    public int rowCount() {
+        return rows;
+    }
+
+    @Override
+    public int colCount() {
+        return cols;
+    }
+
+    @Override
+    public int weight(int row, int col) {
+        int i = lastRun[row], end = rowStart[row + 1];
+        if (runs[i] >>> WEIGHT_BITS > col || i + 1 < end && runs[i + 1] >>> WEIGHT_BITS <= col) {
+            i = runIndex(row, col);
+            lastRun[row] = i;
+        }
+        return (runs[i] & WEIGHT_MASK) - 1;
+    }
+
+    @Override
+    public void copyRow(int row, int[] dst, int offset) {
+        int end = rowStart[row + 1];
+        for (int i = rowStart[row]; i < end; i++) {
+            int from = runs[i] >>> WEIGHT_BITS;
+            int to = i + 1 < end ? runs[i + 1] >>> WEIGHT_BITS : cols;
+            Arrays.fill(dst, offset + from, offset + to, (runs[i] & WEIGHT_MASK) - 1);
+        }
+    }
+
+    public int runCount() {
+        return runs.length;
+    }
+
+    public int runCount(int row) {
+        return rowStart[row + 1] - rowStart[row];
+    }
+
+    // Encoded arrays plus the per-row lookup hints.
+    public long memoryBytes() {
+        return 16 + 4L * rowStart.length + 16 + 4L * runs.length + 16 + 4L * lastRun.length;
+    }
+
+    // How many times smaller this is than the same maze as a Cell[][].
+    public double compressionRatio() {
+        return (double) rows * cols * CELL_BYTES / memoryBytes();
+    }
+
+    @Override
+    public int startRow() {
+        return startRow;
+    }
+
+    @Override
+    public int startCol() {
+        return startCol;
+    }
+
+    @Override
+    public int goalRow() {
+        return goalRow;
+    }
+
+    @Override
+    public int goalCol() {
+        return goalCol;
+    }
+
+    // Index into runs of the run covering (row, col): the last run starting at or before col.
+    private int runIndex(int row, int col) {
+        int lo = rowStart[row], hi = rowStart[row + 1] - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (runs[mid] >>> WEIGHT_BITS <= col) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+}
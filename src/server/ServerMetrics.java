@@ -0,0 +1,134 @@
+package server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free request counters and latency histograms, rendered in the Prometheus text format.
+public class ServerMetrics {
+
+    private static final double[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final int WINDOW_SECONDS = 60;
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+
+    // Completed requests per second over the last minute, as a ring of (second, count) slots.
+    private final AtomicLongArray windowSecond = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray windowCount = new AtomicLongArray(WINDOW_SECONDS);
+
+    private static final class Series {
+        final String labels;
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder sumMicros = new LongAdder();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_MS.length + 1);
+
+        Series(String labels) {
+            this.labels = labels;
+        }
+    }
+
+    public void started() {
+        inFlight.increment();
+    }
+
+    public void finished(String route, String solver, long nanos, boolean error) {
+        inFlight.decrement();
+        String labels = "route=\"" + route + "\"" + (solver == null ? "" : ",solver=\"" + solver + "\"");
+        Series s = series.computeIfAbsent(labels, Series::new);
+        s.count.increment();
+        if (error) s.errors.increment();
+        double ms = nanos / 1_000_000.0;
+        s.sumMicros.add(nanos / 1_000);
+        int b = 0;
+        while (b < BUCKETS_MS.length && ms > BUCKETS_MS[b]) b++;
+        s.buckets.incrementAndGet(b);
+
+        long second = (System.nanoTime() - startNanos) / 1_000_000_000L;
+        int slot = (int) (second % WINDOW_SECONDS);
+        long seen = windowSecond.get(slot);
+        if (seen != second && windowSecond.compareAndSet(slot, seen, second)) windowCount.set(slot, 0);
+        windowCount.incrementAndGet(slot);
+    }
+
+    public void rejected(String reason) {
+        inFlight.decrement();
+        rejected.computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public String render() {
+        double uptime = (System.nanoTime() - startNanos) / 1e9;
+        long second = (long) uptime;
+        long recent = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (second - windowSecond.get(i) < WINDOW_SECONDS) recent += windowCount.get(i);
+        }
+        long total = 0;
+        for (Series s : series.values()) total += s.count.sum();
+
+        // Prometheus text format: every family is one contiguous group, introduced by its HELP and TYPE lines.
+        StringBuilder sb = new StringBuilder();
+        header(sb, "maze_server_uptime_seconds", "gauge", "Seconds since the server started.");
+        sb.append(String.format("maze_server_uptime_seconds %.3f%n", uptime));
+        header(sb, "maze_server_inflight", "gauge", "Requests currently being handled.");
+        sb.append("maze_server_inflight ").append(inFlight.sum()).append('\n');
+        header(sb, "maze_server_throughput_rps", "gauge", "Completed requests per second, overall and over the recent window.");
+        sb.append(String.format("maze_server_throughput_rps{window=\"total\"} %.3f%n", uptime > 0 ? total / uptime : 0.0));
+        sb.append(String.format("maze_server_throughput_rps{window=\"%ds\"} %.3f%n", WINDOW_SECONDS,
+                recent / (double) Math.max(1, Math.min(WINDOW_SECONDS, second + 1))));
+        header(sb, "maze_server_rejected_total", "counter", "Requests turned away by admission control, by reason.");
+        rejected.forEach((reason, n) ->
+                sb.append("maze_server_rejected_total{reason=\"").append(reason).append("\"} ").append(n.sum()).append('\n'));
+
+        header(sb, "maze_server_requests_total", "counter", "Completed requests by endpoint and solver.");
+        for (Series s : series.values()) {
+            sb.append("maze_server_requests_total{").append(s.labels).append("} ").append(s.count.sum()).append('\n');
+        }
+        header(sb, "maze_server_errors_total", "counter", "Requests that ended in an error response.");
+        for (Series s : series.values()) {
+            sb.append("maze_server_errors_total{").append(s.labels).append("} ").append(s.errors.sum()).append('\n');
+        }
+        header(sb, "maze_server_latency_ms", "histogram", "Request latency in milliseconds.");
+        for (Series s : series.values()) {
+            long cumulative = 0;
+            for (int b = 0; b <= BUCKETS_MS.length; b++) {
+                cumulative += s.buckets.get(b);
+                String le = b < BUCKETS_MS.length ? String.valueOf((long) BUCKETS_MS[b]) : "+Inf";
+                sb.append("maze_server_latency_ms_bucket{").append(s.labels).append(",le=\"").append(le).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            sb.append(String.format("maze_server_latency_ms_sum{%s} %.3f%n", s.labels, s.sumMicros.sum() / 1000.0));
+            sb.append("maze_server_latency_ms_count{").append(s.labels).append("} ").append(cumulative).append('\n');
+        }
+        header(sb, "maze_server_latency_quantile_ms", "gauge", "Latency quantiles estimated from the histogram buckets.");
+        for (Series s : series.values()) {
+            long count = s.count.sum();
+            for (double q : new double[]{0.5, 0.95, 0.99}) {
+                sb.append(String.format("maze_server_latency_quantile_ms{%s,quantile=\"%s\"} %s%n", s.labels, q,
+                        quantile(s, count, q)));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Upper bound of the histogram bucket holding the q-th request; coarse but allocation-free.
+    private static String quantile(Series s, long count, double q) {
+        if (count == 0) return "NaN";
+        long rank = (long) Math.ceil(q * count);
+        long cumulative = 0;
+        for (int b = 0; b < BUCKETS_MS.length; b++) {
+            cumulative += s.buckets.get(b);
+            if (cumulative >= rank) return String.valueOf((long) BUCKETS_MS[b]);
+        }
+        return "+Inf";
+    }
+}
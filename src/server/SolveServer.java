@@ -0,0 +1,406 @@
+package server;
+
+import algorithms.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import models.Cell;
+import models.Maze;
+import utils.MazeHasher;
+import utils.MazeParser;
+import utils.SolveCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless solve service. Mazes are parsed once and stay resident; every request runs on its own pooled thread,
+// GA jobs are admitted through a small semaphore, and parallel solvers share one bounded ForkJoinPool.
+//
+//   GET  /mazes                                 resident mazes
+//   POST /mazes?name=NAME                       body is a maze in the text format
+//   GET  /solve?maze=NAME&solver=ID[&params]    cost and timing
+//   GET  /path?maze=NAME&solver=ID[&params]     as /solve, plus the path as [row,col] pairs
+//   GET  /metrics                               Prometheus text
+//
+// Solver ids: dijkstra, astar, alt, hpa, ara, delta, ga, ga2. GA params: pop, gen, len, mut, elite, seed, memetic.
+public class SolveServer {
+
+    private static final int LANDMARK_COUNT = 8;
+    private static final int MEMETIC_INDIVIDUALS = 20;
+    private static final Set<String> SOLVER_IDS = Set.of("dijkstra", "astar", "alt", "hpa", "ara", "delta", "ga", "ga2");
+
+    private int port = 8080;
+    private int maxInFlight = 256;
+    private int gaSlots = 2;
+    private int solverThreads = Runtime.getRuntime().availableProcessors();
+    private long cacheBytes = 64L << 20;
+    private long memoryBudget = BudgetedSolver.heapShare(0.25);
+
+    private final Map<String, Resident> mazes = new ConcurrentHashMap<>();
+    private final ServerMetrics metrics = new ServerMetrics();
+    private HttpServer http;
+    private ExecutorService requestPool;
+    private ForkJoinPool solverPool;
+    private Semaphore admission;
+    private Semaphore gaAdmission;
+    private SolveCache cache;
+
+    // A loaded maze plus the per-maze preprocessing that requests share.
+    private static final class Resident {
+        final String name;
+        final Maze maze;
+        final long hash;
+        final HierarchicalSolver hierarchical = new HierarchicalSolver();
+        private volatile LandmarkHeuristic landmarks;
+
+        Resident(String name, Maze maze) {
+            this.name = name;
+            this.maze = maze;
+            this.hash = MazeHasher.hash(maze);
+        }
+
+        // Built on the given pool, since the build's parallel stream would otherwise run on the common pool.
+        LandmarkHeuristic landmarks(ForkJoinPool pool) throws Exception {
+            LandmarkHeuristic l = landmarks;
+            if (l == null) {
+                synchronized (this) {
+                    if (landmarks == null) {
+                        try {
+                            landmarks = pool.submit(() -> LandmarkHeuristic.build(maze, LANDMARK_COUNT)).get();
+                        } catch (ExecutionException e) {
+                            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        }
+                    }
+                    l = landmarks;
+                }
+            }
+            return l;
+        }
+    }
+
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    // Requests beyond this many in flight are turned away with 503 instead of queueing without bound.
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public void setGaSlots(int gaSlots) {
+        this.gaSlots = Math.max(1, gaSlots);
+    }
+
+    public void setSolverThreads(int solverThreads) {
+        this.solverThreads = Math.max(1, solverThreads);
+    }
+
+    // 0 disables result caching.
+    public void setCacheBytes(long cacheBytes) {
+        this.cacheBytes = cacheBytes;
+    }
+
+    // Per-request heap cap. GA jobs shrink to fit; anything that still does not fit gets 413.
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public int getPort() {
+        return http == null ? port : http.getAddress().getPort();
+    }
+
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void loadMaze(String name, Maze maze) {
+        if (maze.start == null || maze.goal == null) throw new IllegalArgumentException("Maze has no start or goal: " + name);
+        mazes.put(name, new Resident(name, maze));
+    }
+
+    public void start() throws IOException {
+        admission = new Semaphore(maxInFlight);
+        gaAdmission = new Semaphore(gaSlots);
+        solverPool = new ForkJoinPool(solverThreads);
+        cache = cacheBytes > 0 ? new SolveCache(cacheBytes, null) : null;
+
+        // JDK 17 has no virtual threads, so a cached pool gives each request its own (reused) platform thread;
+        // the admission semaphore is what bounds the thread count.
+        AtomicInteger threadIds = new AtomicInteger();
+        requestPool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "solve-request-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        http = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        http.setExecutor(requestPool);
+        http.createContext("/mazes", ex -> handle(ex, "mazes", this::mazes));
+        http.createContext("/solve", ex -> handle(ex, "solve", e -> solve(e, false)));
+        http.createContext("/path", ex -> handle(ex, "path", e -> solve(e, true)));
+        http.createContext("/metrics", ex -> handle(ex, "metrics", e -> metrics.render()));
+        http.start();
+    }
+
+    public void stop() {
+        if (http != null) http.stop(0);
+        if (requestPool != null) requestPool.shutdownNow();
+        if (solverPool != null) solverPool.shutdownNow();
+    }
+
+    private interface Handler {
+        String respond(HttpExchange exchange) throws Exception;
+    }
+
+    private void handle(HttpExchange exchange, String route, Handler handler) throws IOException {
+        metrics.started();
+        if (!admission.tryAcquire()) {
+            metrics.rejected("overloaded");
+            sendError(exchange, 503, "Server is at its request limit");
+            return;
+        }
+        long start = System.nanoTime();
+        String solver = "solve".equals(route) || "path".equals(route) ? query(exchange).getOrDefault("solver", "dijkstra") : null;
+        // Solver ids become metric labels, so arbitrary client input must not create new series.
+        if (solver != null && !SOLVER_IDS.contains(solver)) solver = "invalid";
+        int status = 200;
+        String body;
+        try {
+            body = handler.respond(exchange);
+        } catch (HttpError e) {
+            status = e.status;
+            body = errorJson(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = errorJson(e.getMessage());
+        } catch (Exception e) {
+            status = 500;
+            body = errorJson(e.toString());
+        } finally {
+            admission.release();
+        }
+
+        if (status == 503) {
+            metrics.rejected("ga_busy");
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        } else {
+            metrics.finished(route, solver, System.nanoTime() - start, status >= 400);
+        }
+        String type = "metrics".equals(route) ? "text/plain; version=0.0.4" : "application/json";
+        send(exchange, status, type, body);
+    }
+
+    private String mazes(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            String name = query(exchange).get("name");
+            if (name == null || name.isEmpty()) throw new IllegalArgumentException("Missing name");
+            Maze maze = MazeParser.parseMaze(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            loadMaze(name, maze);
+            return describe(mazes.get(name));
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (Resident r : mazes.values()) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(describe(r));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String describe(Resident r) {
+        return String.format("{\"name\":\"%s\",\"rows\":%d,\"cols\":%d,\"hash\":\"%016x\"}",
+                escape(r.name), r.maze.rows, r.maze.cols, r.hash);
+    }
+
+    private String solve(HttpExchange exchange, boolean includePath) throws Exception {
+        Map<String, String> q = query(exchange);
+        Resident resident = mazes.get(q.getOrDefault("maze", ""));
+        if (resident == null) throw new HttpError(404, "Unknown maze: " + q.get("maze"));
+        String id = q.getOrDefault("solver", "dijkstra");
+        PathSolver solver = createSolver(id, q, resident);
+        boolean ga = id.startsWith("ga");
+
+        if (ga && !gaAdmission.tryAcquire()) throw new HttpError(503, "All GA slots are busy");
+        CachingSolver caching = cache != null ? new CachingSolver(solver, cache) : null;
+        BudgetedSolver runner = new BudgetedSolver(caching != null ? caching : solver, memoryBudget);
+        if (!runner.fitMemory(memoryBudget, resident.maze.rows, resident.maze.cols)) {
+            if (ga) gaAdmission.release();
+            throw new HttpError(413, String.format("%s needs about %d MB for this maze; the budget is %d MB", solver.getName(),
+                    runner.estimateMemory(resident.maze.rows, resident.maze.cols) >> 20, memoryBudget >> 20));
+        }
+        long start = System.nanoTime();
+        List<Cell> path;
+        try {
+            // Parallel streams started inside a ForkJoinPool task run on that pool, not the common pool.
+            if (solver == resident.hierarchical) {
+                synchronized (resident.hierarchical) {
+                    path = solverPool.submit(() -> runner.solve(resident.maze)).get();
+                }
+            } else if (solver.isParallel()) {
+                path = solverPool.submit(() -> runner.solve(resident.maze)).get();
+            } else {
+                path = runner.solve(resident.maze);
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            if (ga) gaAdmission.release();
+        }
+        double timeMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        boolean found = path != null && !path.isEmpty() && path.get(path.size() - 1).isGoal;
+        int cost = 0;
+        if (found) for (Cell c : path) cost += c.weight;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("{\"maze\":\"%s\",\"solver\":\"%s\",\"found\":%b,\"cost\":%d,\"length\":%d,\"timeMs\":%.3f,\"cached\":%b",
+                escape(resident.name), escape(solver.getName()), found, found ? cost : -1, found ? path.size() : 0,
+                timeMs, caching != null && caching.wasLastHit()));
+        sb.append(String.format(",\"estimatedBytes\":%d,\"peakHeapBytes\":%d", runner.getLastEstimate(), runner.getLastPeak()));
+        if (includePath) {
+            sb.append(",\"path\":[");
+            if (found) {
+                for (int i = 0; i < path.size(); i++) {
+                    Cell c = path.get(i);
+                    if (i > 0) sb.append(',');
+                    sb.append('[').append(c.row).append(',').append(c.col).append(']');
+                }
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private PathSolver createSolver(String id, Map<String, String> q, Resident resident) throws Exception {
+        switch (id) {
+            case "dijkstra":
+                return new DijkstraSolver();
+            case "astar":
+                return new AStarSolver();
+            case "alt": {
+                AStarSolver alt = new AStarSolver();
+                alt.setLandmarks(resident.landmarks(solverPool));
+                return alt;
+            }
+            case "hpa":
+                return resident.hierarchical;
+            case "ara": {
+                AnytimeSolver anytime = new AnytimeSolver();
+                anytime.setDeadlineMillis(Long.parseLong(q.getOrDefault("deadline", "200")));
+                return anytime;
+            }
+            case "delta":
+                return new DeltaSteppingSolver();
+            case "ga":
+            case "ga2":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown solver: " + id);
+        }
+
+        int pop = Integer.parseInt(q.getOrDefault("pop", "2000"));
+        int gen = Integer.parseInt(q.getOrDefault("gen", "2000"));
+        int len = Integer.parseInt(q.getOrDefault("len", "3000"));
+        double mut = Double.parseDouble(q.getOrDefault("mut", "0.03"));
+        int elite = Integer.parseInt(q.getOrDefault("elite", "50"));
+        // Without an explicit seed the result is not reproducible, so default to a fixed one to keep the cache honest.
+        long seed = Long.parseLong(q.getOrDefault("seed", "1"));
+        int memetic = Integer.parseInt(q.getOrDefault("memetic", "0"));
+        if (id.equals("ga2")) {
+            GeneticSolver2 ga2 = new GeneticSolver2();
+            ga2.setParameters(pop, gen, len, mut, elite);
+            ga2.setSeed(seed);
+            ga2.setMemetic(memetic, MEMETIC_INDIVIDUALS);
+            return ga2;
+        }
+        GeneticSolver ga1 = new GeneticSolver();
+        ga1.setParameters(pop, gen, len, mut, elite);
+        ga1.setSeed(seed);
+        ga1.setMemetic(memetic, MEMETIC_INDIVIDUALS);
+        return ga1;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String errorJson(String message) {
+        return "{\"error\":\"" + escape(String.valueOf(message)) + "\"}";
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        send(exchange, status, "application/json", errorJson(message));
+    }
+
+    private static void send(HttpExchange exchange, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", type);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Usage: Main --serve [--port N] [--max-inflight N] [--ga-slots N] [--solver-threads N] [--cache-mb N]
+    //                     [--memory-budget-mb N] [maze files...]
+    // Each maze file is registered under its file name without the extension.
+    public static void main(String[] args) throws IOException {
+        SolveServer server = new SolveServer();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port": server.setPort(Integer.parseInt(args[++i])); break;
+                case "--max-inflight": server.setMaxInFlight(Integer.parseInt(args[++i])); break;
+                case "--ga-slots": server.setGaSlots(Integer.parseInt(args[++i])); break;
+                case "--solver-threads": server.setSolverThreads(Integer.parseInt(args[++i])); break;
+                case "--cache-mb": server.setCacheBytes(Long.parseLong(args[++i]) << 20); break;
+                case "--memory-budget-mb": server.setMemoryBudget(Long.parseLong(args[++i]) << 20); break;
+                default: {
+                    File file = new File(args[i]);
+                    String name = file.getName().replaceFirst("\\.[^.]*$", "");
+                    server.loadMaze(name, MazeParser.parseMaze(file));
+                }
+            }
+        }
+        server.start();
+        System.out.println("Solve server listening on http://127.0.0.1:" + server.getPort() + " with "
+                + server.mazes.size() + " maze(s)");
+    }
+}
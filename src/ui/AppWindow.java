@@ -3,30 +3,85 @@ package ui;
 import algorithms.*;
 import models.Cell;
 import models.Maze;
+import utils.BenchmarkHistory;
+import utils.MazeHasher;
 import utils.MazeParser;
+import utils.SolveCache;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AppWindow extends JFrame {
 
     private MazePanel mazePanel;
+    private ConvergenceChart convergenceChart;
     private JTextArea logArea;
     private JLabel statusLabel;
     private Maze currentMaze;
 
     private JComboBox<String> algoSelector;
     private JPanel gaSettingsPanel;
+    private JPanel anytimeSettingsPanel;
+    private final List<JCheckBox> raceSelectors = new ArrayList<>();
+    private JCheckBox heatmapToggle;
+    private SearchStats lastStats;
+    private final HierarchicalSolver hierarchicalSolver = new HierarchicalSolver();
+    private final AStarSolver landmarkSolver = new AStarSolver();
+
+    private static final int LANDMARK_COUNT = 8;
+    private static final long CACHE_MEMORY_BYTES = 64L * 1024 * 1024;
+    private static final String GA_CHECKPOINT_PATH = System.getProperty("maze.ga.checkpoint");
+    private static final int GA_CHECKPOINT_INTERVAL = 100;
+    private static final int MEMETIC_INDIVIDUALS = 20;
+    private static final int GA_WORKERS = Integer.getInteger("maze.ga.workers", 3);
+    private static final double DIVERSITY_INJECTION_THRESHOLD = 0.5;
+    // Per-solve heap cap; half the maximum heap unless -Dmaze.memory.budget.mb is given.
+    private static final long MEMORY_BUDGET = Long.getLong("maze.memory.budget.mb", 0) > 0
+            ? Long.getLong("maze.memory.budget.mb") << 20 : BudgetedSolver.heapShare(0.5);
+
+    private JCheckBox cacheToggle;
+    private final SolveCache solveCache = new SolveCache(CACHE_MEMORY_BYTES,
+            System.getProperty("maze.cache.dir") != null ? new File(System.getProperty("maze.cache.dir")) : null);
+
+    // Timed single runs are appended here when -Dmaze.bench.history=<file> is given; races are not, since
+    // their solvers compete for cores.
+    private static final BenchmarkHistory BENCH_HISTORY = System.getProperty("maze.bench.history") != null
+            ? new BenchmarkHistory(new File(System.getProperty("maze.bench.history"))) : null;
 
     private JTextField popSizeField;
     private JTextField generationField;
     private JTextField genomeLenField;
     private JTextField mutationRateField;
     private JTextField elitismField;
+    private JTextField seedField;
+    private JTextField memeticField;
+    private JTextField deadlineField;
+
+    private volatile boolean solverRunning;
+    private final AtomicReference<List<Cell>> pendingPath = new AtomicReference<>();
+    private Timer telemetryTimer;
+
+    private static final int TELEMETRY_FRAME_MS = 66;
+    private static final int PATH_OVERLAY_INTERVAL = 25;
+
+    private static final Color[] RACE_COLORS = {
+        new Color(52, 152, 219, 210),
+        new Color(155, 89, 182, 210),
+        new Color(241, 196, 15, 210),
+        new Color(26, 188, 156, 210),
+        new Color(231, 76, 60, 210),
+        new Color(230, 126, 34, 210)
+    };
 
     private final Color SIDEBAR_COLOR = new Color(36, 49, 68);
     private final Color TEXT_COLOR = new Color(236, 240, 241);
@@ -87,8 +142,13 @@ public class AppWindow extends JFrame {
         String[] algos = {
             "Dijkstra (Baseline)", 
             "A* Search (Heuristic)", 
+            "A* Search (ALT Landmarks)",
+            "Delta-Stepping (Parallel)",
+            "HPA* (Hierarchical)",
+            "ARA* (Anytime)",
             "Genetic Algorithm (Standard)",
-            "Genetic Algorithm (DOD/SoA)" 
+            "Genetic Algorithm (DOD/SoA)",
+            "Genetic Algorithm (Distributed)"
         };
         algoSelector = new JComboBox<>(algos);
         algoSelector.setMaximumSize(new Dimension(260, 35));
@@ -104,6 +164,26 @@ public class AppWindow extends JFrame {
 
         JButton runBtn = createStyledButton("Run Algorithm", e -> dispatchAlgorithm());
         sidebar.add(runBtn);
+        sidebar.add(Box.createRigidArea(new Dimension(0, 8)));
+        sidebar.add(createStyledButton("Distance Field", e -> showDistanceField()));
+        sidebar.add(Box.createRigidArea(new Dimension(0, 8)));
+
+        heatmapToggle = new JCheckBox("Show explored region", true);
+        heatmapToggle.setOpaque(false);
+        heatmapToggle.setForeground(new Color(189, 195, 199));
+        heatmapToggle.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        heatmapToggle.setFocusable(false);
+        heatmapToggle.setAlignmentX(Component.LEFT_ALIGNMENT);
+        heatmapToggle.addActionListener(e -> mazePanel.setExploredHeatmap(heatmapToggle.isSelected() ? lastStats : null));
+        sidebar.add(heatmapToggle);
+
+        cacheToggle = new JCheckBox("Reuse cached results", true);
+        cacheToggle.setOpaque(false);
+        cacheToggle.setForeground(new Color(189, 195, 199));
+        cacheToggle.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        cacheToggle.setFocusable(false);
+        cacheToggle.setAlignmentX(Component.LEFT_ALIGNMENT);
+        sidebar.add(cacheToggle);
         sidebar.add(Box.createRigidArea(new Dimension(0, 25)));
 
         // --- GA SETTINGS ---
@@ -124,8 +204,44 @@ public class AppWindow extends JFrame {
         gaSettingsPanel.add(createInputRow("Mutation Rate:", "0.03"));
         gaSettingsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
         gaSettingsPanel.add(createInputRow("Elitism Count:", "50"));
+        gaSettingsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+        gaSettingsPanel.add(createInputRow("Seed:", ""));
+        gaSettingsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+        gaSettingsPanel.add(createInputRow("Memetic Every:", "0"));
+        gaSettingsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        gaSettingsPanel.add(createStyledButton("Resume Checkpoint", e -> resumeCheckpoint()));
 
         sidebar.add(gaSettingsPanel);
+
+        anytimeSettingsPanel = new JPanel();
+        anytimeSettingsPanel.setLayout(new BoxLayout(anytimeSettingsPanel, BoxLayout.Y_AXIS));
+        anytimeSettingsPanel.setOpaque(false);
+        anytimeSettingsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        anytimeSettingsPanel.setVisible(false);
+
+        anytimeSettingsPanel.add(createSectionLabel("3. Anytime Config"));
+        anytimeSettingsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        anytimeSettingsPanel.add(createInputRow("Deadline (ms):", "200"));
+
+        sidebar.add(anytimeSettingsPanel);
+        sidebar.add(Box.createRigidArea(new Dimension(0, 25)));
+
+        // --- RACE MODE ---
+        sidebar.add(createSectionLabel("4. Race Mode"));
+        sidebar.add(Box.createRigidArea(new Dimension(0, 8)));
+        for (String algo : algos) {
+            // Off by default: the standard GA is slow, and the distributed one spawns worker JVMs.
+            JCheckBox box = new JCheckBox(algo, !algo.contains("Standard") && !algo.contains("Distributed"));
+            box.setOpaque(false);
+            box.setForeground(new Color(189, 195, 199));
+            box.setFont(new Font("SansSerif", Font.PLAIN, 12));
+            box.setFocusable(false);
+            box.setAlignmentX(Component.LEFT_ALIGNMENT);
+            raceSelectors.add(box);
+            sidebar.add(box);
+        }
+        sidebar.add(Box.createRigidArea(new Dimension(0, 8)));
+        sidebar.add(createStyledButton("Race Selected", e -> dispatchRace()));
         sidebar.add(Box.createVerticalGlue());
 
         JPanel mainContentWrapper = new JPanel(new BorderLayout());
@@ -166,9 +282,26 @@ public class AppWindow extends JFrame {
         scrollPane.setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, new Color(44, 62, 80)));
         scrollPane.setPreferredSize(new Dimension(0, 150));
 
+        convergenceChart = new ConvergenceChart();
+        convergenceChart.setPreferredSize(new Dimension(420, 150));
+        convergenceChart.setBorder(BorderFactory.createMatteBorder(1, 1, 0, 0, new Color(44, 62, 80)));
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.setOpaque(false);
+        bottomPanel.add(scrollPane, BorderLayout.CENTER);
+        bottomPanel.add(convergenceChart, BorderLayout.EAST);
+
+        // Solver threads only publish telemetry; this timer coalesces it into at most one repaint per frame.
+        telemetryTimer = new Timer(TELEMETRY_FRAME_MS, e -> {
+            convergenceChart.repaintIfDirty();
+            List<Cell> path = pendingPath.getAndSet(null);
+            if (path != null) mazePanel.setPath(path);
+        });
+        telemetryTimer.start();
+
         mainContentWrapper.add(statusBar, BorderLayout.NORTH);
         mainContentWrapper.add(mazeCard, BorderLayout.CENTER);
-        mainContentWrapper.add(scrollPane, BorderLayout.SOUTH);
+        mainContentWrapper.add(bottomPanel, BorderLayout.SOUTH);
         add(sidebar, BorderLayout.WEST);
         add(mainContentWrapper, BorderLayout.CENTER);
 
@@ -179,7 +312,9 @@ public class AppWindow extends JFrame {
         String selected = (String) algoSelector.getSelectedItem();
         boolean isGA = selected != null && selected.contains("Genetic");
         gaSettingsPanel.setVisible(isGA);
+        anytimeSettingsPanel.setVisible(selected != null && selected.contains("Anytime"));
         gaSettingsPanel.revalidate();
+        anytimeSettingsPanel.revalidate();
         gaSettingsPanel.getParent().repaint();
     }
 
@@ -192,32 +327,12 @@ public class AppWindow extends JFrame {
         String selected = (String) algoSelector.getSelectedItem();
         if (selected == null) return;
 
-        PathSolver solver = null;
+        PathSolver solver;
 
         try {
-            if (selected.contains("Dijkstra")) {
-                solver = new DijkstraSolver();
-            } else if (selected.contains("A*")) {
-                solver = new AStarSolver();
-            } else {
-                // GA PARAMS
-                int pop = Integer.parseInt(popSizeField.getText().trim());
-                int gen = Integer.parseInt(generationField.getText().trim());
-                int len = Integer.parseInt(genomeLenField.getText().trim());
-                double mut = Double.parseDouble(mutationRateField.getText().trim());
-                int elite = Integer.parseInt(elitismField.getText().trim());
-
-                if (selected.contains("DOD")) {
-                    GeneticSolver2 ga2 = new GeneticSolver2();
-                    ga2.setParameters(pop, gen, len, mut, elite);
-                    solver = ga2;
-                } else {
-                    GeneticSolver ga1 = new GeneticSolver();
-                    // FIX: Now passing all 5 parameters as required by the updated class
-                    ga1.setParameters(pop, gen, len, mut, elite);
-                    solver = ga1;
-                }
-            }
+            solver = createSolver(selected, true);
+            if (cacheToggle.isSelected()) solver = new CachingSolver(solver, solveCache);
+            solver = new BudgetedSolver(solver, MEMORY_BUDGET);
         } catch (Exception e) {
             log("Error parsing params: " + e.getMessage());
             return;
@@ -226,6 +341,212 @@ public class AppWindow extends JFrame {
         runAlgorithm(solver);
     }
 
+    private PathSolver createSolver(String selected, boolean withTelemetry) {
+        // Visit-order tracing is only needed for the single-run heatmap, not for races.
+        if (selected.contains("Dijkstra")) {
+            DijkstraSolver dijkstra = new DijkstraSolver();
+            dijkstra.setStats(new SearchStats(withTelemetry));
+            return dijkstra;
+        } else if (selected.contains("ARA")) {
+            AnytimeSolver anytime = new AnytimeSolver();
+            anytime.setDeadlineMillis(Long.parseLong(deadlineField.getText().trim()));
+            anytime.setStats(new SearchStats(withTelemetry));
+            if (withTelemetry) {
+                anytime.setListener((path, cost, bound) -> {
+                    pendingPath.set(path);
+                    SwingUtilities.invokeLater(() -> log(String.format("[ARA*] Cost: %d | Bound: %.3f", cost, bound)));
+                });
+            }
+            return anytime;
+        } else if (selected.contains("HPA")) {
+            // Shared so the cluster abstraction is reused across runs on the same maze.
+            return hierarchicalSolver;
+        } else if (selected.contains("ALT")) {
+            // Shared so landmark tables are reused across runs on the same maze.
+            landmarkSolver.useLandmarks(LANDMARK_COUNT);
+            landmarkSolver.setStats(new SearchStats(withTelemetry));
+            return landmarkSolver;
+        } else if (selected.contains("A*")) {
+            AStarSolver aStar = new AStarSolver();
+            aStar.setStats(new SearchStats(withTelemetry));
+            return aStar;
+        } else if (selected.contains("Delta")) {
+            DeltaSteppingSolver deltaStepping = new DeltaSteppingSolver();
+            deltaStepping.setStats(new SearchStats(false));
+            return deltaStepping;
+        }
+
+        // GA PARAMS
+        int pop = Integer.parseInt(popSizeField.getText().trim());
+        int gen = Integer.parseInt(generationField.getText().trim());
+        int len = Integer.parseInt(genomeLenField.getText().trim());
+        double mut = Double.parseDouble(mutationRateField.getText().trim());
+        int elite = Integer.parseInt(elitismField.getText().trim());
+        // A blank seed picks a fresh one; it is logged so the run can be replayed exactly.
+        String seedText = seedField.getText().trim();
+        long seed = seedText.isEmpty() ? ThreadLocalRandom.current().nextLong() : Long.parseLong(seedText);
+        log("GA seed: " + seed);
+        int memeticInterval = Integer.parseInt(memeticField.getText().trim());
+
+        if (selected.contains("Distributed")) {
+            // Population and generations apply per island.
+            DistributedGeneticSolver islands = new DistributedGeneticSolver();
+            islands.setWorkers(GA_WORKERS);
+            islands.setParameters(pop, gen, len, mut, elite);
+            islands.setSeed(seed);
+            islands.setMemetic(memeticInterval, MEMETIC_INDIVIDUALS);
+            return islands;
+        } else if (selected.contains("DOD")) {
+            return createGeneticSolver2(pop, gen, len, mut, elite, seed, memeticInterval, withTelemetry);
+        } else {
+            GeneticSolver ga1 = new GeneticSolver();
+            // FIX: Now passing all 5 parameters as required by the updated class
+            ga1.setParameters(pop, gen, len, mut, elite);
+            ga1.setSeed(seed);
+            ga1.setMemetic(memeticInterval, MEMETIC_INDIVIDUALS);
+            if (withTelemetry) ga1.setListener(createTelemetryListener(), PATH_OVERLAY_INTERVAL);
+            return ga1;
+        }
+    }
+
+    private GeneticSolver2 createGeneticSolver2(int pop, int gen, int len, double mut, int elite, long seed,
+                                                int memeticInterval, boolean withTelemetry) {
+        GeneticSolver2 ga2 = new GeneticSolver2();
+        ga2.setParameters(pop, gen, len, mut, elite);
+        ga2.setSeed(seed);
+        ga2.setMemetic(memeticInterval, MEMETIC_INDIVIDUALS);
+        ga2.setDiversityInjection(DIVERSITY_INJECTION_THRESHOLD);
+        if (GA_CHECKPOINT_PATH != null) ga2.setCheckpointing(new File(GA_CHECKPOINT_PATH), GA_CHECKPOINT_INTERVAL);
+        if (withTelemetry) ga2.setListener(createTelemetryListener(), PATH_OVERLAY_INTERVAL);
+        return ga2;
+    }
+
+    private void dispatchRace() {
+        if (currentMaze == null) {
+            JOptionPane.showMessageDialog(this, "Please load a maze first.", "No Maze Loaded", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (solverRunning) {
+            log("A solver is already running.");
+            return;
+        }
+
+        List<PathSolver> solvers = new ArrayList<>();
+        try {
+            for (JCheckBox box : raceSelectors) {
+                if (box.isSelected()) solvers.add(createSolver(box.getText(), false));
+            }
+            // Racers run side by side, so they split the budget.
+            for (int i = 0; i < solvers.size(); i++) solvers.set(i, new BudgetedSolver(solvers.get(i), MEMORY_BUDGET / solvers.size()));
+        } catch (Exception e) {
+            log("Error parsing params: " + e.getMessage());
+            return;
+        }
+        if (solvers.size() < 2) {
+            log("Race mode needs at least two solvers selected.");
+            return;
+        }
+
+        Maze maze = currentMaze;
+        solverRunning = true;
+        pendingPath.set(null);
+        mazePanel.setPath(null);
+        log("Racing " + solvers.size() + " solvers...");
+
+        Thread worker = new Thread(() -> {
+            List<SolverRace.Result> results;
+            try {
+                results = new SolverRace().run(maze, solvers, r -> SwingUtilities.invokeLater(() ->
+                        log(String.format("[RACE] %s finished | Cost: %d | Time: %.2f ms", r.solver.getName(), r.cost, r.timeMs))));
+            } catch (RuntimeException | Error ex) {
+                // A racer's Error (e.g. OutOfMemoryError) surfaces here; the UI must still accept later runs.
+                SwingUtilities.invokeLater(() -> {
+                    solverRunning = false;
+                    log("Error: race failed: " + ex);
+                });
+                if (ex instanceof Error) throw (Error) ex;
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                solverRunning = false;
+                showRaceResults(results);
+            });
+        }, "solver-race");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void showRaceResults(List<SolverRace.Result> results) {
+        if (results.isEmpty()) {
+            log("Race was interrupted.");
+            return;
+        }
+
+        int reference = SolverRace.referenceCost(results);
+        List<List<Cell>> paths = new ArrayList<>();
+        List<Color> colors = new ArrayList<>();
+
+        DefaultTableModel model = new DefaultTableModel(
+                new Object[]{"", "Solver", "Cost", "Time (ms)", "Expanded", "Gap"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (SolverRace.Result r : results) {
+            Color color = RACE_COLORS[r.index % RACE_COLORS.length];
+            if (r.success) {
+                paths.add(r.path);
+                colors.add(color);
+            }
+            double gap = r.optimalityGap(reference);
+            model.addRow(new Object[]{
+                    color,
+                    r.solver.getName(),
+                    r.success ? String.valueOf(r.cost) : (r.error != null ? "error" : "no path"),
+                    String.format("%.2f", r.timeMs),
+                    r.solver.getStats() != null ? String.valueOf(r.solver.getStats().nodesExpanded) : "-",
+                    Double.isNaN(gap) ? "-" : String.format("%.2f%%", gap * 100)
+            });
+        }
+        mazePanel.setOverlayPaths(paths, colors);
+
+        JTable table = new JTable(model);
+        table.setRowHeight(24);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setMaxWidth(24);
+        table.getColumnModel().getColumn(0).setCellRenderer(new DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable t, Object value, boolean selected, boolean focus, int row, int col) {
+                super.getTableCellRendererComponent(t, "", selected, focus, row, col);
+                setBackground((Color) value);
+                return this;
+            }
+        });
+
+        JDialog dialog = new JDialog(this, "Race Results", false);
+        dialog.add(new JScrollPane(table));
+        dialog.setSize(640, 80 + 24 * results.size());
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        log("Race finished. Reference cost: " + (reference < 0 ? "n/a" : String.valueOf(reference)));
+    }
+
+    private GenerationListener createTelemetryListener() {
+        return new GenerationListener() {
+            @Override
+            public void onGeneration(int generation, double bestFitness, boolean reachedGoal) {
+                double value = reachedGoal ? 100_000_000.0 - bestFitness : Math.sqrt(-bestFitness);
+                convergenceChart.addSample(generation, value, reachedGoal);
+            }
+
+            @Override
+            public void onBestPath(int generation, List<Cell> path) {
+                pendingPath.set(path);
+            }
+        };
+    }
+
     private JPanel createInputRow(String labelText, String defaultValue) {
         JPanel panel = new JPanel(new BorderLayout(10, 0));
         panel.setOpaque(false);
@@ -249,6 +570,9 @@ public class AppWindow extends JFrame {
         else if (labelText.equals("Genome Len:")) genomeLenField = field;
         else if (labelText.equals("Mutation Rate:")) mutationRateField = field;
         else if (labelText.equals("Elitism Count:")) elitismField = field;
+        else if (labelText.equals("Seed:")) seedField = field;
+        else if (labelText.equals("Memetic Every:")) memeticField = field;
+        else if (labelText.equals("Deadline (ms):")) deadlineField = field;
 
         return panel;
     }
@@ -306,7 +630,12 @@ public class AppWindow extends JFrame {
         statusLabel.setText("Status: " + message);
     }
 
+    // A running solve would draw its path and heatmap onto the new maze, so loading waits for it.
     private void loadMap() {
+        if (solverRunning) {
+            log("A solver is already running.");
+            return;
+        }
         JFileChooser fileChooser = new JFileChooser();
         File dataDir = new File("./data");
         if (!dataDir.exists()) dataDir = new File("../data");
@@ -323,23 +652,149 @@ public class AppWindow extends JFrame {
         }
     }
 
+    // Full distance field from the start cell, drawn in place of the explored-region heatmap.
+    private void showDistanceField() {
+        if (currentMaze == null) {
+            JOptionPane.showMessageDialog(this, "Please load a maze first.", "No Maze Loaded", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Maze maze = currentMaze;
+        Thread worker = new Thread(() -> {
+            long start = System.nanoTime();
+            DistanceField field = DistanceField.from(maze, maze.start);
+            double ms = (System.nanoTime() - start) / 1_000_000.0;
+            SwingUtilities.invokeLater(() -> {
+                if (maze != currentMaze) return;
+                mazePanel.setDistanceField(field);
+                log(String.format("[FIELD] Reachable: %d cells | Max distance: %d | Goal: %s | Time: %.2f ms",
+                        field.reachableCount(), field.maxDistance(),
+                        field.isReachable(maze.goal.row, maze.goal.col) ? String.valueOf(field.distance(maze.goal.row, maze.goal.col)) : "unreachable",
+                        ms));
+            });
+        }, "distance-field");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void resumeCheckpoint() {
+        if (currentMaze == null) {
+            JOptionPane.showMessageDialog(this, "Please load a maze first.", "No Maze Loaded", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser(GA_CHECKPOINT_PATH != null ? new File(GA_CHECKPOINT_PATH) : new File("."));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        GeneticSolver2 ga2;
+        GeneticCheckpoint checkpoint;
+        boolean resume;
+        try {
+            checkpoint = GeneticCheckpoint.read(fileChooser.getSelectedFile());
+            resume = checkpoint.mazeHash == MazeHasher.hash(currentMaze);
+            if (resume) {
+                // The run continues under the checkpoint's seed and settings; the form is only read to report
+                // which of its fields will be ignored.
+                ga2 = createGeneticSolver2(Integer.parseInt(popSizeField.getText().trim()),
+                        Integer.parseInt(generationField.getText().trim()), Integer.parseInt(genomeLenField.getText().trim()),
+                        Double.parseDouble(mutationRateField.getText().trim()), Integer.parseInt(elitismField.getText().trim()),
+                        checkpoint.seed, Integer.parseInt(memeticField.getText().trim()), true);
+            } else {
+                ga2 = (GeneticSolver2) createSolver("Genetic Algorithm (DOD/SoA)", true);
+            }
+        } catch (Exception ex) {
+            log("Error: " + ex.getMessage());
+            return;
+        }
+        // An edited maze cannot continue the old run, but its population is still a better start than random genes.
+        if (resume) {
+            List<String> overridden = ga2.checkpointMismatch(checkpoint);
+            if (!overridden.isEmpty()) log("Warning: using the checkpoint's settings, not the form's: " + String.join(", ", overridden));
+            ga2.resumeFrom(checkpoint);
+            log("Resuming GA at generation " + checkpoint.generation + " (seed " + checkpoint.seed + ")");
+        } else {
+            ga2.warmStartFrom(checkpoint);
+            log("Maze changed since the checkpoint; warm-starting from its population.");
+        }
+        runAlgorithm(new BudgetedSolver(ga2, MEMORY_BUDGET));
+    }
+
     private void runAlgorithm(PathSolver solver) {
+        if (solverRunning) {
+            log("A solver is already running.");
+            return;
+        }
         String name = solver.getName();
+        Maze maze = currentMaze;
         log("Running " + name + "...");
         statusLabel.setText("Running " + name + "...");
-        SwingUtilities.invokeLater(() -> {
+        convergenceChart.clear();
+        pendingPath.set(null);
+        solverRunning = true;
+
+        Thread worker = new Thread(() -> {
             long startTime = System.nanoTime();
-            List<Cell> path = solver.solve(currentMaze);
-            long endTime = System.nanoTime();
-            if (path == null || path.isEmpty()) {
-                log("Failure: " + name + " found no path.");
-            } else {
-                int cost = path.stream().mapToInt(c -> c.weight).sum();
-                double time = (endTime - startTime) / 1_000_000.0;
-                boolean success = path.get(path.size() - 1).isGoal;
-                mazePanel.setPath(path);
-                log(String.format("[%s] %s | Cost: %d | Time: %.2f ms | Steps: %d", success ? "SUCCESS" : "FAIL", name, cost, time, path.size()));
+            List<Cell> path;
+            try {
+                path = solver.solve(maze);
+            } catch (RuntimeException | Error ex) {
+                // An Error (e.g. OutOfMemoryError from a large GA) must not leave the UI refusing later runs.
+                SwingUtilities.invokeLater(() -> {
+                    solverRunning = false;
+                    log("Error: " + name + " failed: " + ex);
+                });
+                if (ex instanceof Error) throw (Error) ex;
+                return;
             }
-        });
+            long endTime = System.nanoTime();
+            String historyError = recordBenchmark(solver, maze, path, (endTime - startTime) / 1_000_000.0);
+            SwingUtilities.invokeLater(() -> {
+                solverRunning = false;
+                pendingPath.set(null);
+                if (historyError != null) log("Error: benchmark history: " + historyError);
+                lastStats = solver.getStats();
+                if (path == null || path.isEmpty()) {
+                    mazePanel.setPath(null);
+                    log("Failure: " + name + " found no path.");
+                } else {
+                    int cost = path.stream().mapToInt(c -> c.weight).sum();
+                    double time = (endTime - startTime) / 1_000_000.0;
+                    boolean success = path.get(path.size() - 1).isGoal;
+                    mazePanel.setPath(path);
+                    log(String.format("[%s] %s | Cost: %d | Time: %.2f ms | Steps: %d", success ? "SUCCESS" : "FAIL", name, cost, time, path.size()));
+                }
+                mazePanel.setExploredHeatmap(heatmapToggle.isSelected() ? lastStats : null);
+                if (lastStats != null) log(lastStats.toString());
+                PathSolver inner = solver instanceof BudgetedSolver ? ((BudgetedSolver) solver).getDelegate() : solver;
+                if (inner instanceof CachingSolver && ((CachingSolver) inner).wasLastHit()) {
+                    log("[CACHE] " + solveCache.statsLine());
+                } else {
+                    if (inner instanceof CachingSolver) inner = ((CachingSolver) inner).getDelegate();
+                    if (inner instanceof GeneticSolver2) {
+                        GeneticSolver2 ga2 = (GeneticSolver2) inner;
+                        log(String.format("[GA] pop: %d x %d | duplicates: %.1f%% | injected: %d",
+                                ga2.getLastPopulation(), ga2.getLastGenomeLength(), ga2.getLastDuplicateRate() * 100,
+                                ga2.getLastInjected()));
+                    }
+                }
+                if (solver instanceof BudgetedSolver) log("[MEM] " + ((BudgetedSolver) solver).footprintLine());
+            });
+        }, "solver-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Runs on the solver thread. Cache hits are skipped: they time the cache, not the solver.
+    private static String recordBenchmark(PathSolver solver, Maze maze, List<Cell> path, double timeMs) {
+        if (BENCH_HISTORY == null) return null;
+        PathSolver inner = solver instanceof BudgetedSolver ? ((BudgetedSolver) solver).getDelegate() : solver;
+        if (inner instanceof CachingSolver && ((CachingSolver) inner).wasLastHit()) return null;
+        boolean reached = path != null && !path.isEmpty() && path.get(path.size() - 1).isGoal;
+        long cost = reached ? path.stream().mapToLong(c -> c.weight).sum() : -1;
+        try {
+            BENCH_HISTORY.append(BenchmarkHistory.Record.now("app", solver.getName(), solver.getConfigKey(),
+                    MazeHasher.hash(maze), timeMs, cost));
+            return null;
+        } catch (IOException e) {
+            return e.getMessage();
+        }
     }
-}
\ No newline at end of file
+}
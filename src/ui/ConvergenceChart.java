@@ -0,0 +1,114 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.util.Arrays;
+
+public class ConvergenceChart extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Color BG_COLOR = new Color(17, 24, 32);
+    private static final Color AXIS_COLOR = new Color(52, 73, 94);
+    private static final Color TEXT_COLOR = new Color(189, 195, 199);
+    private static final Color DISTANCE_COLOR = new Color(230, 126, 34);
+    private static final Color COST_COLOR = new Color(46, 204, 113);
+
+    private static final int PAD = 28;
+
+    private final Object lock = new Object();
+    private int[] generations = new int[256];
+    private double[] values = new double[256];
+    private int count;
+    private int firstReached = -1;
+    private volatile boolean dirty;
+
+    public ConvergenceChart() {
+        setBackground(BG_COLOR);
+        setPreferredSize(new Dimension(0, 140));
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            count = 0;
+            firstReached = -1;
+        }
+        dirty = true;
+    }
+
+    // Called from the solver thread; the owning window repaints on its own schedule.
+    public void addSample(int generation, double value, boolean hasReachedGoal) {
+        synchronized (lock) {
+            if (count == generations.length) {
+                generations = Arrays.copyOf(generations, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            generations[count] = generation;
+            values[count] = value;
+            if (hasReachedGoal && firstReached < 0) firstReached = count;
+            count++;
+        }
+        dirty = true;
+    }
+
+    public void repaintIfDirty() {
+        if (dirty) {
+            dirty = false;
+            repaint();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int w = getWidth() - PAD * 2;
+        int h = getHeight() - PAD * 2;
+        g2.setColor(AXIS_COLOR);
+        g2.drawLine(PAD, PAD, PAD, PAD + h);
+        g2.drawLine(PAD, PAD + h, PAD + w, PAD + h);
+        g2.setFont(new Font("Consolas", Font.PLAIN, 11));
+
+        synchronized (lock) {
+            if (count == 0 || w <= 0 || h <= 0) {
+                g2.setColor(TEXT_COLOR);
+                g2.drawString("Convergence: waiting for GA telemetry", PAD + 8, PAD + h / 2);
+                g2.dispose();
+                return;
+            }
+
+            // Once the goal is reached only the cost phase is shown; distances would flatten the scale.
+            int from = firstReached >= 0 ? firstReached : 0;
+            double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+            for (int i = from; i < count; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            if (max - min < 1e-9) max = min + 1;
+
+            int genMin = generations[from];
+            int genSpan = Math.max(1, generations[count - 1] - genMin);
+
+            GeneralPath line = new GeneralPath();
+            for (int i = from; i < count; i++) {
+                double x = PAD + (double) (generations[i] - genMin) / genSpan * w;
+                double y = PAD + h - (values[i] - min) / (max - min) * h;
+                if (i == from) line.moveTo(x, y);
+                else line.lineTo(x, y);
+            }
+            g2.setColor(firstReached >= 0 ? COST_COLOR : DISTANCE_COLOR);
+            g2.setStroke(new BasicStroke(2f));
+            g2.draw(line);
+
+            g2.setColor(TEXT_COLOR);
+            String title = firstReached >= 0 ? "Best cost" : "Distance to goal";
+            g2.drawString(String.format("%s: %.0f  (gen %d)", title, values[count - 1], generations[count - 1]), PAD + 8, PAD - 10);
+            g2.drawString(String.format("%.0f", max), 2, PAD + 4);
+            g2.drawString(String.format("%.0f", min), 2, PAD + h);
+        }
+        g2.dispose();
+    }
+}
@@ -0,0 +1,142 @@
+package ui;
+
+import models.Cell;
+import models.Maze;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.stream.IntStream;
+
+public class LodPyramid {
+
+    private static final Color WALL_COLOR = new Color(10, 10, 10);
+    private static final Color LIGHT_COLOR = new Color(230, 230, 230);
+    private static final Color HEAVY_COLOR = new Color(230, 126, 34);
+    private static final int MIN_LEVEL_SIZE = 64;
+
+    public final Maze maze;
+    // levels[k] holds one pixel per (2^k x 2^k) block of cells; levels[0] is unused.
+    private final BufferedImage[] levels;
+
+    private LodPyramid(Maze maze, BufferedImage[] levels) {
+        this.maze = maze;
+        this.levels = levels;
+    }
+
+    public int levelCount() {
+        return levels.length;
+    }
+
+    public BufferedImage getLevel(int level) {
+        return levels[Math.max(1, Math.min(levels.length - 1, level))];
+    }
+
+    public static int levelFor(double cellsPerPixel) {
+        int level = 1;
+        while ((1 << level) < cellsPerPixel) level++;
+        return level;
+    }
+
+    public static LodPyramid build(Maze maze) {
+        int rows = maze.rows;
+        int cols = maze.cols;
+
+        int levelCount = 2;
+        for (int s = 2; Math.max(rows, cols) / s > MIN_LEVEL_SIZE; s <<= 1) levelCount++;
+        BufferedImage[] levels = new BufferedImage[levelCount];
+
+        // Level 1 is aggregated straight from the grid; coarser levels merge 2x2 blocks of the level below.
+        int baseH = (rows + 1) / 2;
+        int baseW = (cols + 1) / 2;
+        int[] baseOpen = new int[baseH * baseW];
+        float[] baseMean = new float[baseH * baseW];
+        int[] rowMax = new int[baseH];
+
+        IntStream.range(0, baseH).parallel().forEach(sr -> {
+            int max = 0;
+            for (int sc = 0; sc < baseW; sc++) {
+                int n = 0;
+                long sum = 0;
+                for (int r = sr * 2; r < Math.min(rows, sr * 2 + 2); r++) {
+                    for (int c = sc * 2; c < Math.min(cols, sc * 2 + 2); c++) {
+                        Cell cell = maze.grid[r][c];
+                        if (cell.isWall) continue;
+                        n++;
+                        sum += cell.weight;
+                        if (cell.weight > max) max = cell.weight;
+                    }
+                }
+                baseOpen[sr * baseW + sc] = n;
+                baseMean[sr * baseW + sc] = n == 0 ? 0 : (float) sum / n;
+            }
+            rowMax[sr] = max;
+        });
+
+        int h = baseH, w = baseW;
+        int[] open = baseOpen;
+        float[] meanWeight = baseMean;
+
+        int maxWeight = 1;
+        for (int m : rowMax) maxWeight = Math.max(maxWeight, m);
+
+        for (int level = 1; level < levelCount; level++) {
+            int size = 1 << level;
+            levels[level] = colorize(open, meanWeight, w, h, size, rows, cols, maxWeight);
+            if (level + 1 < levelCount) {
+                int nh = (h + 1) / 2;
+                int nw = (w + 1) / 2;
+                int[] nOpen = new int[nh * nw];
+                float[] nMean = new float[nh * nw];
+                final int pw = w, ph = h;
+                final int[] pOpen = open;
+                final float[] pMean = meanWeight;
+                IntStream.range(0, nh).parallel().forEach(sr -> {
+                    for (int sc = 0; sc < nw; sc++) {
+                        int n = 0;
+                        double sum = 0;
+                        for (int r = sr * 2; r < Math.min(ph, sr * 2 + 2); r++) {
+                            for (int c = sc * 2; c < Math.min(pw, sc * 2 + 2); c++) {
+                                int k = r * pw + c;
+                                n += pOpen[k];
+                                sum += (double) pMean[k] * pOpen[k];
+                            }
+                        }
+                        nOpen[sr * nw + sc] = n;
+                        nMean[sr * nw + sc] = n == 0 ? 0 : (float) (sum / n);
+                    }
+                });
+                open = nOpen;
+                meanWeight = nMean;
+                w = nw;
+                h = nh;
+            }
+        }
+
+        return new LodPyramid(maze, levels);
+    }
+
+    private static BufferedImage colorize(int[] open, float[] meanWeight, int w, int h, int size,
+                                          int rows, int cols, int maxWeight) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        int[] rgb = new int[w * h];
+        IntStream.range(0, h).parallel().forEach(sr -> {
+            int cellRows = Math.min(size, rows - sr * size);
+            for (int sc = 0; sc < w; sc++) {
+                int cellCols = Math.min(size, cols - sc * size);
+                int k = sr * w + sc;
+                double wallFraction = 1.0 - (double) open[k] / (cellRows * cellCols);
+                double heat = Math.min(1.0, meanWeight[k] / maxWeight);
+                int r = mix(mix(LIGHT_COLOR.getRed(), HEAVY_COLOR.getRed(), heat), WALL_COLOR.getRed(), wallFraction);
+                int g = mix(mix(LIGHT_COLOR.getGreen(), HEAVY_COLOR.getGreen(), heat), WALL_COLOR.getGreen(), wallFraction);
+                int b = mix(mix(LIGHT_COLOR.getBlue(), HEAVY_COLOR.getBlue(), heat), WALL_COLOR.getBlue(), wallFraction);
+                rgb[k] = (r << 16) | (g << 8) | b;
+            }
+        });
+        img.setRGB(0, 0, w, h, rgb, 0, w);
+        return img;
+    }
+
+    private static int mix(int a, int b, double t) {
+        return (int) Math.round(a + (b - a) * t);
+    }
+}
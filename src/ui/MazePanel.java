@@ -1,5 +1,7 @@
 package ui;
 
+import algorithms.DistanceField;
+import algorithms.SearchStats;
 import models.Cell;
 import models.Maze;
 
@@ -7,12 +9,18 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MazePanel extends JPanel {
 
     private Maze maze;
     private List<Cell> path;
+    private List<List<Cell>> overlayPaths;
+    private List<Color> overlayColors;
+    private BufferedImage heatmapImage;
     private Cell hoveredCell;
 
     private double zoomFactor = 1.0;
@@ -20,6 +28,17 @@ public class MazePanel extends JPanel {
     private double viewY = 0;
     private Point lastMousePosition;
 
+    private final Map<Long, BufferedImage> tileCache = new LinkedHashMap<Long, BufferedImage>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+    private int cachedCellSize = -1;
+
+    private LodPyramid lodPyramid;
+    private Maze lodBuildingFor;
+
     private static final Color BG_COLOR = new Color(30, 30, 30);
     private static final Color WALL_COLOR = new Color(10, 10, 10);
     private static final Color PATH_COLOR = new Color(230, 230, 230);
@@ -28,12 +47,20 @@ public class MazePanel extends JPanel {
     private static final Color SOLUTION_COLOR = new Color(52, 152, 219, 200);
     private static final Color GRID_LINE_COLOR = new Color(0, 0, 0, 50);
     private static final Color WEIGHT_COLOR = new Color(0, 0, 0, 100);
+    private static final Color HEAT_EARLY = new Color(41, 128, 185);
+    private static final Color HEAT_LATE = new Color(241, 196, 15);
+    private static final int HEAT_ALPHA = 120;
+    private static final int DISTANCE_BANDS = 16;
 
     private static final int MARGIN = 20;
     private static final double ZOOM_STEP = 0.1;
     private static final double MIN_ZOOM = 1.0;
     private static final double MAX_ZOOM = 6.0;
 
+    private static final int TILE_SIZE = 512;
+    private static final int MAX_CACHED_TILES = 48;
+    private static final double LOD_MAX_CELL_PX = 32.0;
+
     public MazePanel() {
         setBackground(BG_COLOR);
         setDoubleBuffered(true);
@@ -68,19 +95,20 @@ public class MazePanel extends JPanel {
         addMouseWheelListener(e -> {
             if (maze == null) return;
 
-            int[] oldGrid = calculateGridGeometry(zoomFactor);
-            int oldCellSize = oldGrid[0];
+            double[] oldGrid = calculateGridGeometry(zoomFactor);
+            double oldCellSize = oldGrid[0];
             if (oldCellSize <= 0) return;
 
-            int oldXOffset = oldGrid[1] + (int) viewX;
-            int oldYOffset = oldGrid[2] + (int) viewY;
+            int oldXOffset = (int) oldGrid[1] + (int) viewX;
+            int oldYOffset = (int) oldGrid[2] + (int) viewY;
 
             int mouseRelX = e.getX() - oldXOffset;
             int mouseRelY = e.getY() - oldYOffset;
 
-            double delta = -e.getPreciseWheelRotation() * ZOOM_STEP;
+            // Large mazes start below one pixel per cell, so scale the step to keep wheel zoom usable.
+            double delta = -e.getPreciseWheelRotation() * ZOOM_STEP * Math.max(1.0, zoomFactor);
             double newZoom = zoomFactor + delta;
-            newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, newZoom));
+            newZoom = Math.max(MIN_ZOOM, Math.min(maxZoom(), newZoom));
 
             if (newZoom == MIN_ZOOM) {
                 zoomFactor = MIN_ZOOM;
@@ -91,14 +119,14 @@ public class MazePanel extends JPanel {
                 return;
             }
 
-            int[] newGrid = calculateGridGeometry(newZoom);
-            int newCellSize = newGrid[0];
+            double[] newGrid = calculateGridGeometry(newZoom);
+            double newCellSize = newGrid[0];
             if (newCellSize <= 0) return;
 
-            int newCenteredX = newGrid[1];
-            int newCenteredY = newGrid[2];
+            int newCenteredX = (int) newGrid[1];
+            int newCenteredY = (int) newGrid[2];
 
-            double scaleRatio = (double) newCellSize / oldCellSize;
+            double scaleRatio = newCellSize / oldCellSize;
             double newMouseRelX = mouseRelX * scaleRatio;
             double newMouseRelY = mouseRelY * scaleRatio;
 
@@ -117,25 +145,94 @@ public class MazePanel extends JPanel {
     public void setMaze(Maze maze) {
         this.maze = maze;
         this.path = null;
+        this.overlayPaths = null;
+        this.overlayColors = null;
+        this.heatmapImage = null;
         this.hoveredCell = null;
         this.zoomFactor = 1.0;
         this.viewX = 0;
         this.viewY = 0;
+        invalidateMazeCache();
+        this.lodPyramid = null;
+        this.lodBuildingFor = null;
         repaint();
     }
 
     public void setPath(List<Cell> path) {
         this.path = path;
+        this.overlayPaths = null;
+        this.overlayColors = null;
+        repaint();
+    }
+
+    public void setExploredHeatmap(SearchStats stats) {
+        heatmapImage = null;
+        if (stats != null && stats.visitOrder != null && maze != null
+                && stats.rows == maze.rows && stats.cols == maze.cols && stats.nodesExpanded > 0) {
+            heatmapImage = buildHeatmap(stats);
+        }
+        repaint();
+    }
+
+    // One pixel per cell, coloured from early (blue) to late (yellow) expansion.
+    private static BufferedImage buildHeatmap(SearchStats stats) {
+        BufferedImage img = new BufferedImage(stats.cols, stats.rows, BufferedImage.TYPE_INT_ARGB);
+        int[] argb = new int[stats.rows * stats.cols];
+        double last = Math.max(1, stats.nodesExpanded - 1);
+        for (int i = 0; i < argb.length; i++) {
+            int order = stats.visitOrder[i];
+            if (order < 0) continue;
+            double t = order / last;
+            int r = (int) (HEAT_EARLY.getRed() + (HEAT_LATE.getRed() - HEAT_EARLY.getRed()) * t);
+            int g = (int) (HEAT_EARLY.getGreen() + (HEAT_LATE.getGreen() - HEAT_EARLY.getGreen()) * t);
+            int b = (int) (HEAT_EARLY.getBlue() + (HEAT_LATE.getBlue() - HEAT_EARLY.getBlue()) * t);
+            argb[i] = (HEAT_ALPHA << 24) | (r << 16) | (g << 8) | b;
+        }
+        img.setRGB(0, 0, stats.cols, stats.rows, argb, 0, stats.cols);
+        return img;
+    }
+
+    public void setDistanceField(DistanceField field) {
+        heatmapImage = null;
+        if (field != null && maze != null && field.rows == maze.rows && field.cols == maze.cols) {
+            heatmapImage = buildDistanceImage(field);
+        }
+        repaint();
+    }
+
+    // Near (blue) to far (yellow), with alternate distance bands slightly darkened so iso-distance contours show.
+    private static BufferedImage buildDistanceImage(DistanceField field) {
+        BufferedImage img = new BufferedImage(field.cols, field.rows, BufferedImage.TYPE_INT_ARGB);
+        int[] argb = new int[field.rows * field.cols];
+        double max = Math.max(1, field.maxDistance());
+        for (int i = 0; i < argb.length; i++) {
+            int d = field.dist[i];
+            if (d == DistanceField.UNREACHABLE) continue;
+            double t = d / max;
+            double shade = ((int) (t * DISTANCE_BANDS) & 1) == 0 ? 1.0 : 0.8;
+            int r = (int) ((HEAT_EARLY.getRed() + (HEAT_LATE.getRed() - HEAT_EARLY.getRed()) * t) * shade);
+            int g = (int) ((HEAT_EARLY.getGreen() + (HEAT_LATE.getGreen() - HEAT_EARLY.getGreen()) * t) * shade);
+            int b = (int) ((HEAT_EARLY.getBlue() + (HEAT_LATE.getBlue() - HEAT_EARLY.getBlue()) * t) * shade);
+            argb[i] = (HEAT_ALPHA << 24) | (r << 16) | (g << 8) | b;
+        }
+        img.setRGB(0, 0, field.cols, field.rows, argb, 0, field.cols);
+        return img;
+    }
+
+    public void setOverlayPaths(List<List<Cell>> paths, List<Color> colors) {
+        this.path = null;
+        this.overlayPaths = paths;
+        this.overlayColors = colors;
         repaint();
     }
 
     private void handleHover(int mouseX, int mouseY) {
         if (maze == null) return;
 
-        int[] metrics = calculateFinalMetrics();
-        int cellSize = metrics[0];
-        int xOffset = metrics[1];
-        int yOffset = metrics[2];
+        double[] metrics = calculateFinalMetrics();
+        double cellSize = metrics[0];
+        int xOffset = (int) metrics[1];
+        int yOffset = (int) metrics[2];
 
         if (cellSize <= 0) {
             hoveredCell = null;
@@ -143,8 +240,8 @@ public class MazePanel extends JPanel {
             return;
         }
 
-        int c = (mouseX - xOffset) / cellSize;
-        int r = (mouseY - yOffset) / cellSize;
+        int c = (int) Math.floor((mouseX - xOffset) / cellSize);
+        int r = (int) Math.floor((mouseY - yOffset) / cellSize);
 
         if (r >= 0 && r < maze.rows && c >= 0 && c < maze.cols) {
             Cell newHover = maze.grid[r][c];
@@ -168,36 +265,49 @@ public class MazePanel extends JPanel {
         return "PATH";
     }
 
-    private int[] calculateGridGeometry(double zoom) {
-        if (maze == null) return new int[]{0, 0, 0};
+    private double fitCellSize() {
+        int playableWidth = Math.max(1, getWidth() - (MARGIN * 2));
+        int playableHeight = Math.max(1, getHeight() - (MARGIN * 2));
+        return Math.min((double) playableWidth / Math.max(1, maze.cols), (double) playableHeight / Math.max(1, maze.rows));
+    }
+
+    private double maxZoom() {
+        double fit = fitCellSize();
+        return fit >= 1 ? MAX_ZOOM : Math.max(MAX_ZOOM, LOD_MAX_CELL_PX / fit);
+    }
+
+    // Cell size is a whole number of pixels, except below one pixel per cell where the LOD pyramid takes over.
+    private double[] calculateGridGeometry(double zoom) {
+        if (maze == null) return new double[]{0, 0, 0};
 
         int panelWidth = getWidth();
         int panelHeight = getHeight();
 
-        int playableWidth = Math.max(1, panelWidth - (MARGIN * 2));
-        int playableHeight = Math.max(1, panelHeight - (MARGIN * 2));
-
-        int baseCellWidth = playableWidth / Math.max(1, maze.cols);
-        int baseCellHeight = playableHeight / Math.max(1, maze.rows);
-        int baseCellSize = Math.max(1, Math.min(baseCellWidth, baseCellHeight));
-
-        int cellSize = (int) Math.max(1, baseCellSize * zoom);
+        double fit = fitCellSize();
+        double cellSize;
+        if (fit >= 1) {
+            int baseCellSize = (int) fit;
+            cellSize = (int) Math.max(1, baseCellSize * zoom);
+        } else {
+            cellSize = fit * zoom;
+            if (cellSize >= 1) cellSize = Math.floor(cellSize);
+        }
 
-        int totalMazeWidth = maze.cols * cellSize;
-        int totalMazeHeight = maze.rows * cellSize;
+        double totalMazeWidth = maze.cols * cellSize;
+        double totalMazeHeight = maze.rows * cellSize;
 
-        int centeredX = (panelWidth - totalMazeWidth) / 2;
-        int centeredY = (panelHeight - totalMazeHeight) / 2;
+        int centeredX = (int) ((panelWidth - totalMazeWidth) / 2);
+        int centeredY = (int) ((panelHeight - totalMazeHeight) / 2);
 
-        return new int[]{cellSize, centeredX, centeredY};
+        return new double[]{cellSize, centeredX, centeredY};
     }
 
-    private int[] calculateFinalMetrics() {
-        int[] geo = calculateGridGeometry(this.zoomFactor);
-        int cellSize = geo[0];
-        int xOffset = geo[1] + (int) viewX;
-        int yOffset = geo[2] + (int) viewY;
-        return new int[]{cellSize, xOffset, yOffset};
+    private double[] calculateFinalMetrics() {
+        double[] geo = calculateGridGeometry(this.zoomFactor);
+        double cellSize = geo[0];
+        int xOffset = (int) geo[1] + (int) viewX;
+        int yOffset = (int) geo[2] + (int) viewY;
+        return new double[]{cellSize, xOffset, yOffset};
     }
 
     @Override
@@ -212,38 +322,203 @@ public class MazePanel extends JPanel {
         Graphics2D g2 = (Graphics2D) g.create();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        int[] metrics = calculateFinalMetrics();
-        int cellSize = metrics[0];
-        int xOffset = metrics[1];
-        int yOffset = metrics[2];
+        double[] metrics = calculateFinalMetrics();
+        double scale = metrics[0];
+        int xOffset = (int) metrics[1];
+        int yOffset = (int) metrics[2];
 
-        if (cellSize <= 0) {
+        if (scale <= 0) {
             g2.dispose();
             drawPlaceholder(g);
             return;
         }
 
-        int startCol = Math.max(0, -xOffset / cellSize);
-        int endCol = Math.min(maze.cols, (getWidth() - xOffset) / cellSize + 1);
-        int startRow = Math.max(0, -yOffset / cellSize);
-        int endRow = Math.min(maze.rows, (getHeight() - yOffset) / cellSize + 1);
+        if (scale < 1) {
+            paintLevelOfDetail(g2, scale, xOffset, yOffset);
+            if (heatmapImage != null) drawGridImage(g2, heatmapImage, scale, xOffset, yOffset);
+            drawPathOverlays(g2, scale, xOffset, yOffset);
+            drawZoomLabel(g2);
+            g2.dispose();
+            return;
+        }
+
+        int cellSize = (int) scale;
+        if (cellSize != cachedCellSize) {
+            invalidateMazeCache();
+            cachedCellSize = cellSize;
+        }
+
+        // The static maze layer is composited from cached tiles; only overlays are drawn per frame.
+        int mazeWidth = maze.cols * cellSize + 1;
+        int mazeHeight = maze.rows * cellSize + 1;
+        int startTileX = Math.max(0, -xOffset / TILE_SIZE);
+        int endTileX = Math.min((mazeWidth - 1) / TILE_SIZE, (getWidth() - xOffset) / TILE_SIZE);
+        int startTileY = Math.max(0, -yOffset / TILE_SIZE);
+        int endTileY = Math.min((mazeHeight - 1) / TILE_SIZE, (getHeight() - yOffset) / TILE_SIZE);
+
+        for (int ty = startTileY; ty <= endTileY; ty++) {
+            for (int tx = startTileX; tx <= endTileX; tx++) {
+                BufferedImage tile = getMazeTile(tx, ty, cellSize);
+                g2.drawImage(tile, xOffset + tx * TILE_SIZE, yOffset + ty * TILE_SIZE, null);
+            }
+        }
+
+        if (heatmapImage != null) drawGridImage(g2, heatmapImage, cellSize, xOffset, yOffset);
+        drawPathOverlays(g2, cellSize, xOffset, yOffset);
+        drawZoomLabel(g2);
+        g2.dispose();
+    }
+
+    private void paintLevelOfDetail(Graphics2D g2, double scale, int xOffset, int yOffset) {
+        LodPyramid pyramid = lodPyramid;
+        if (pyramid == null || pyramid.maze != maze) {
+            requestLodPyramid();
+            g2.setColor(Color.GRAY);
+            g2.setFont(new Font("SansSerif", Font.BOLD, 14));
+            g2.drawString("Building overview for " + maze.rows + "x" + maze.cols + " maze...", 20, 30);
+            return;
+        }
+
+        // Pick the finest level that still has at most one sample per screen pixel.
+        int level = Math.min(pyramid.levelCount() - 1, LodPyramid.levelFor(1.0 / scale));
+        BufferedImage img = pyramid.getLevel(level);
+        drawGridImage(g2, img, scale * (1 << level), xOffset, yOffset);
+
+        int markerSize = 8;
+        if (maze.start != null) {
+            g2.setColor(START_COLOR);
+            g2.fillOval(xOffset + (int) (maze.start.col * scale) - markerSize / 2,
+                    yOffset + (int) (maze.start.row * scale) - markerSize / 2, markerSize, markerSize);
+        }
+        if (maze.goal != null) {
+            g2.setColor(GOAL_COLOR);
+            g2.fillOval(xOffset + (int) (maze.goal.col * scale) - markerSize / 2,
+                    yOffset + (int) (maze.goal.row * scale) - markerSize / 2, markerSize, markerSize);
+        }
+    }
+
+    // Blits only the visible part of an image holding one sample per samplePx x samplePx screen square.
+    private void drawGridImage(Graphics2D g2, BufferedImage img, double samplePx, int xOffset, int yOffset) {
+        int sx1 = Math.max(0, (int) Math.floor(-xOffset / samplePx));
+        int sy1 = Math.max(0, (int) Math.floor(-yOffset / samplePx));
+        int sx2 = Math.min(img.getWidth(), (int) Math.ceil((getWidth() - xOffset) / samplePx));
+        int sy2 = Math.min(img.getHeight(), (int) Math.ceil((getHeight() - yOffset) / samplePx));
+        if (sx1 >= sx2 || sy1 >= sy2) return;
+
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(img,
+                xOffset + (int) Math.round(sx1 * samplePx), yOffset + (int) Math.round(sy1 * samplePx),
+                xOffset + (int) Math.round(sx2 * samplePx), yOffset + (int) Math.round(sy2 * samplePx),
+                sx1, sy1, sx2, sy2, null);
+    }
+
+    private void requestLodPyramid() {
+        Maze target = maze;
+        if (lodBuildingFor == target) return;
+        lodBuildingFor = target;
+
+        Thread builder = new Thread(() -> {
+            LodPyramid built = LodPyramid.build(target);
+            SwingUtilities.invokeLater(() -> {
+                if (maze == target) {
+                    lodPyramid = built;
+                    repaint();
+                }
+            });
+        }, "lod-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void drawPathOverlays(Graphics2D g2, double cellSize, int xOffset, int yOffset) {
+        float stroke = cellSize >= 1 ? Math.max(3, (int) cellSize / 3) : 2f;
+        drawPathOverlay(g2, path, SOLUTION_COLOR, stroke, cellSize, xOffset, yOffset);
+
+        if (overlayPaths == null) return;
+        // Earlier paths are drawn wider so overlapping routes stay visible underneath later ones.
+        int n = overlayPaths.size();
+        for (int i = 0; i < n; i++) {
+            float width = Math.max(2f, stroke * (n - i) / n);
+            drawPathOverlay(g2, overlayPaths.get(i), overlayColors.get(i), width, cellSize, xOffset, yOffset);
+        }
+    }
+
+    private void drawPathOverlay(Graphics2D g2, List<Cell> path, Color color, float stroke,
+                                 double cellSize, int xOffset, int yOffset) {
+        if (path == null || path.isEmpty()) return;
+
+        g2.setColor(color);
+        g2.setStroke(new BasicStroke(stroke, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+
+        java.awt.geom.GeneralPath polyline = new java.awt.geom.GeneralPath();
+        Cell start = path.get(0);
+        polyline.moveTo(
+                xOffset + start.col * cellSize + cellSize / 2.0,
+                yOffset + start.row * cellSize + cellSize / 2.0
+        );
+
+        for (int i = 1; i < path.size(); i++) {
+            Cell next = path.get(i);
+            polyline.lineTo(
+                    xOffset + next.col * cellSize + cellSize / 2.0,
+                    yOffset + next.row * cellSize + cellSize / 2.0
+            );
+        }
+        g2.draw(polyline);
+    }
+
+    private void drawZoomLabel(Graphics2D g2) {
+        if (zoomFactor > 1.0) {
+            g2.setColor(Color.WHITE);
+            g2.setFont(new Font("Monospaced", Font.BOLD, 12));
+            g2.drawString(String.format("Zoom: %.1fx", zoomFactor), 20, getHeight() - 20);
+        }
+    }
+
+    private void invalidateMazeCache() {
+        tileCache.clear();
+        cachedCellSize = -1;
+    }
+
+    private BufferedImage getMazeTile(int tx, int ty, int cellSize) {
+        long key = ((long) ty << 32) | (tx & 0xFFFFFFFFL);
+        BufferedImage tile = tileCache.get(key);
+        if (tile == null) {
+            tile = renderMazeTile(tx, ty, cellSize);
+            tileCache.put(key, tile);
+        }
+        return tile;
+    }
+
+    private BufferedImage renderMazeTile(int tx, int ty, int cellSize) {
+        BufferedImage tile = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = tile.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int originX = tx * TILE_SIZE;
+        int originY = ty * TILE_SIZE;
+        g2.translate(-originX, -originY);
+
+        // Cell outlines extend one pixel past the cell, so include the neighbour bordering the tile edge.
+        int startCol = Math.max(0, (originX - 1) / cellSize);
+        int endCol = Math.min(maze.cols, (originX + TILE_SIZE) / cellSize + 1);
+        int startRow = Math.max(0, (originY - 1) / cellSize);
+        int endRow = Math.min(maze.rows, (originY + TILE_SIZE) / cellSize + 1);
 
-        Font weightFont = null;
         FontMetrics weightFm = null;
         boolean drawWeights = cellSize > 20;
 
         if (drawWeights) {
             int fontSize = Math.max(10, Math.min(16, cellSize / 2));
-            weightFont = new Font("SansSerif", Font.PLAIN, fontSize);
-            g2.setFont(weightFont);
+            g2.setFont(new Font("SansSerif", Font.PLAIN, fontSize));
             weightFm = g2.getFontMetrics();
         }
 
         for (int r = startRow; r < endRow; r++) {
             for (int c = startCol; c < endCol; c++) {
                 Cell cell = maze.grid[r][c];
-                int x = xOffset + c * cellSize;
-                int y = yOffset + r * cellSize;
+                int x = c * cellSize;
+                int y = r * cellSize;
 
                 if (cell.isWall) g2.setColor(WALL_COLOR);
                 else if (cell.isStart) g2.setColor(START_COLOR);
@@ -264,35 +539,8 @@ public class MazePanel extends JPanel {
             }
         }
 
-        if (path != null && !path.isEmpty()) {
-            g2.setColor(SOLUTION_COLOR);
-            int stroke = Math.max(3, cellSize / 3);
-            g2.setStroke(new BasicStroke(stroke, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-
-            java.awt.geom.GeneralPath polyline = new java.awt.geom.GeneralPath();
-            Cell start = path.get(0);
-            polyline.moveTo(
-                    xOffset + start.col * cellSize + cellSize / 2.0,
-                    yOffset + start.row * cellSize + cellSize / 2.0
-            );
-
-            for (int i = 1; i < path.size(); i++) {
-                Cell next = path.get(i);
-                polyline.lineTo(
-                        xOffset + next.col * cellSize + cellSize / 2.0,
-                        yOffset + next.row * cellSize + cellSize / 2.0
-                );
-            }
-            g2.draw(polyline);
-        }
-
-        if (zoomFactor > 1.0) {
-            g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Monospaced", Font.BOLD, 12));
-            g2.drawString(String.format("Zoom: %.1fx", zoomFactor), 20, getHeight() - 20);
-        }
-
         g2.dispose();
+        return tile;
     }
 
     private void drawPlaceholder(Graphics g) {
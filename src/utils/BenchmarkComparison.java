@@ -0,0 +1,263 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compares the samples of a candidate label against a baseline label, per benchmark key (solver, params,
+// maze, machine). Times use a one-sided Mann-Whitney U test, which makes no normality assumption and is not
+// thrown off by the odd GC pause. A slowdown is flagged only when it is significant at alpha AND the median
+// moved by more than minChange, so tiny but consistent shifts on quiet machines do not fail a build. Small
+// tie-free samples use the exact distribution of U; sample counts too small to ever reach alpha are reported
+// as INSUFFICIENT rather than UNCHANGED.
+// Costs are flagged when the candidate's median is higher: outright for deterministic solvers (every sample
+// of both sides equal), otherwise by the same test. A candidate that stops finding paths is a cost regression.
+public class BenchmarkComparison {
+
+    public enum Verdict { REGRESSED, IMPROVED, UNCHANGED, INSUFFICIENT }
+
+    public static final int MIN_SAMPLES = 3;
+    // Largest n1 * n2 for which tie-free samples get exact p-values instead of the normal approximation.
+    private static final int EXACT_LIMIT = 400;
+
+    private double alpha = 0.01;
+    private double minChange = 0.05;
+
+    public static final class Finding {
+        public final String key;
+        public final String benchmark;
+        public final String metric;
+        public final int baselineSamples;
+        public final int candidateSamples;
+        public final double baselineMedian;
+        public final double candidateMedian;
+        public final double pValue;
+        public final Verdict verdict;
+
+        Finding(String key, String benchmark, String metric, int baselineSamples, int candidateSamples,
+                double baselineMedian, double candidateMedian, double pValue, Verdict verdict) {
+            this.key = key;
+            this.benchmark = benchmark;
+            this.metric = metric;
+            this.baselineSamples = baselineSamples;
+            this.candidateSamples = candidateSamples;
+            this.baselineMedian = baselineMedian;
+            this.candidateMedian = candidateMedian;
+            this.pValue = pValue;
+            this.verdict = verdict;
+        }
+
+        public double change() {
+            return candidateMedian == baselineMedian || baselineMedian == 0 ? 0 : candidateMedian / baselineMedian - 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-11s %-4s %s | median %.4g -> %.4g (%+.1f%%) | n %d/%d | p %.4f", verdict, metric,
+                    benchmark, baselineMedian, candidateMedian, change() * 100, baselineSamples,
+                    candidateSamples, pValue);
+        }
+    }
+
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public void setMinChange(double minChange) {
+        this.minChange = minChange;
+    }
+
+    // The most recent label before the candidate's first sample, or null if the candidate is the first label.
+    public static String previousLabel(List<BenchmarkHistory.Record> records, String candidate) {
+        String previous = null;
+        for (BenchmarkHistory.Record r : records) {
+            if (r.label.equals(candidate)) return previous;
+            previous = r.label;
+        }
+        return previous;
+    }
+
+    // One time finding per key sampled under both labels, plus a cost finding where both sides recorded costs.
+    public List<Finding> compare(List<BenchmarkHistory.Record> records, String baseline, String candidate) {
+        Map<String, List<BenchmarkHistory.Record>> before = group(records, baseline);
+        Map<String, List<BenchmarkHistory.Record>> after = group(records, candidate);
+        List<Finding> findings = new ArrayList<>();
+        for (Map.Entry<String, List<BenchmarkHistory.Record>> e : after.entrySet()) {
+            List<BenchmarkHistory.Record> base = before.get(e.getKey());
+            if (base == null) continue;
+            String name = describe(base.get(0));
+            findings.add(compareTimes(e.getKey(), name, times(base), times(e.getValue())));
+            double[] baseCosts = costs(base), candCosts = costs(e.getValue());
+            if (baseCosts.length > 0 && candCosts.length > 0) findings.add(compareCosts(e.getKey(), name, baseCosts, candCosts));
+        }
+        return findings;
+    }
+
+    private Finding compareTimes(String key, String name, double[] base, double[] cand) {
+        double baseMedian = median(base), candMedian = median(cand);
+        if (!attainable(base.length, cand.length)) {
+            return new Finding(key, name, "time", base.length, cand.length, baseMedian, candMedian, Double.NaN, Verdict.INSUFFICIENT);
+        }
+        double pSlower = mannWhitneyGreater(cand, base);
+        double pFaster = mannWhitneyGreater(base, cand);
+        Verdict verdict = Verdict.UNCHANGED;
+        if (pSlower < alpha && candMedian > baseMedian * (1 + minChange)) verdict = Verdict.REGRESSED;
+        else if (pFaster < alpha && candMedian < baseMedian * (1 - minChange)) verdict = Verdict.IMPROVED;
+        return new Finding(key, name, "time", base.length, cand.length, baseMedian, candMedian,
+                Math.min(pSlower, pFaster), verdict);
+    }
+
+    // Unreachable results are recorded as cost -1 and rank above any real cost.
+    private Finding compareCosts(String key, String name, double[] base, double[] cand) {
+        double baseMedian = median(base), candMedian = median(cand);
+        boolean deterministic = constant(base) && constant(cand);
+        double p = deterministic ? (candMedian == baseMedian ? 1 : 0) : Math.min(mannWhitneyGreater(cand, base),
+                mannWhitneyGreater(base, cand));
+        Verdict verdict = Verdict.UNCHANGED;
+        if (!deterministic && !attainable(base.length, cand.length)) verdict = Verdict.INSUFFICIENT;
+        else if (candMedian > baseMedian && (deterministic || mannWhitneyGreater(cand, base) < alpha)) verdict = Verdict.REGRESSED;
+        else if (candMedian < baseMedian && (deterministic || mannWhitneyGreater(base, cand) < alpha)) verdict = Verdict.IMPROVED;
+        return new Finding(key, name, "cost", base.length, cand.length, baseMedian, candMedian, p, verdict);
+    }
+
+    // The smallest one-sided p-value n1 and n2 samples can give is 1 / C(n1 + n2, n1), from perfectly separated
+    // samples; at 4 per side that is 1/70, so alpha 0.01 needs 5.
+    private boolean attainable(int n1, int n2) {
+        if (n1 < MIN_SAMPLES || n2 < MIN_SAMPLES) return false;
+        double orderings = 1;
+        for (int i = 1; i <= n1; i++) orderings = orderings * (n2 + i) / i;
+        return 1 / orderings < alpha;
+    }
+
+    // One-sided p-value for "samples in a tend to be larger than in b": exact for small tie-free samples,
+    // otherwise from the normal approximation to U with tie correction and continuity correction.
+    static double mannWhitneyGreater(double[] a, double[] b) {
+        int n1 = a.length, n2 = b.length, n = n1 + n2;
+        double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) all[i] = new double[]{a[i], 0};
+        for (int i = 0; i < n2; i++) all[n1 + i] = new double[]{b[i], 1};
+        Arrays.sort(all, (x, y) -> Double.compare(x[0], y[0]));
+
+        double rankSumA = 0, tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[j + 1][0] == all[i][0]) j++;
+            double rank = (i + j) / 2.0 + 1;
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            for (int k = i; k <= j; k++) if (all[k][1] == 0) rankSumA += rank;
+            i = j + 1;
+        }
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        if (tieTerm == 0 && (long) n1 * n2 <= EXACT_LIMIT) return exactUpperTail(n1, n2, (int) Math.round(u));
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) return 1;
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    // P(U >= u) when all C(n1 + n2, n1) orderings of the samples are equally likely. counts[j][k] is the number
+    // of orderings of i samples of a and j of b with U = k; the largest sample adds j to U if it is from a.
+    static double exactUpperTail(int n1, int n2, int u) {
+        int max = n1 * n2;
+        double[][] counts = new double[n2 + 1][max + 1];
+        for (int j = 0; j <= n2; j++) counts[j][0] = 1;
+        for (int i = 1; i <= n1; i++) {
+            double[][] next = new double[n2 + 1][max + 1];
+            next[0][0] = 1;
+            for (int j = 1; j <= n2; j++) {
+                for (int k = 0; k <= i * j; k++) next[j][k] = next[j - 1][k] + (k >= j ? counts[j][k - j] : 0);
+            }
+            counts = next;
+        }
+        double tail = 0, total = 0;
+        for (int k = 0; k <= max; k++) {
+            total += counts[n2][k];
+            if (k >= u) tail += counts[n2][k];
+        }
+        return tail / total;
+    }
+
+    // Abramowitz-Stegun 7.1.26 approximation of erf, accurate to about 1e-7.
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t + 0.254829592)
+                * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    public static double median(double[] values) {
+        if (values.length == 0) return Double.NaN;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static boolean constant(double[] values) {
+        for (double v : values) if (v != values[0]) return false;
+        return true;
+    }
+
+    // Solver, then its settings if they say more than its name, then the maze. The machine is the same on both sides.
+    private static String describe(BenchmarkHistory.Record r) {
+        return r.solver + (r.params.equals(r.solver) ? "" : " [" + r.params + "]") + " @" + Long.toHexString(r.mazeHash);
+    }
+
+    private static Map<String, List<BenchmarkHistory.Record>> group(List<BenchmarkHistory.Record> records, String label) {
+        Map<String, List<BenchmarkHistory.Record>> groups = new LinkedHashMap<>();
+        for (BenchmarkHistory.Record r : records) {
+            if (r.label.equals(label)) groups.computeIfAbsent(r.key(), k -> new ArrayList<>()).add(r);
+        }
+        return groups;
+    }
+
+    // Checks the p-values against exact ones worked out by hand and the verdicts at the sample-count boundary;
+    // prints each result and exits with 1 if any is off.
+    public static void main(String[] args) {
+        double[] low = {1, 2, 3, 4, 5}, high = {6, 7, 8, 9, 10};
+        int failures = 0;
+        failures += check("3/3 separated", mannWhitneyGreater(Arrays.copyOf(high, 3), Arrays.copyOf(low, 3)), 1 / 20.0);
+        failures += check("4/4 separated", mannWhitneyGreater(Arrays.copyOf(high, 4), Arrays.copyOf(low, 4)), 1 / 70.0);
+        failures += check("5/5 separated", mannWhitneyGreater(high, low), 1 / 252.0);
+        failures += check("5/5 one swap", mannWhitneyGreater(new double[]{5, 7, 8, 9, 10}, new double[]{1, 2, 3, 4, 6}), 2 / 252.0);
+        failures += check("5/5 reversed", mannWhitneyGreater(low, high), 1);
+        failures += check("2/2 tail", exactUpperTail(2, 2, 2), 4 / 6.0);
+
+        BenchmarkComparison comparison = new BenchmarkComparison();
+        for (int n = 4; n <= 5; n++) {
+            List<BenchmarkHistory.Record> records = new ArrayList<>();
+            for (int i = 0; i < n; i++) records.add(sample("base", low[i]));
+            for (int i = 0; i < n; i++) records.add(sample("cand", high[i]));
+            Verdict verdict = comparison.compare(records, "base", "cand").get(0).verdict;
+            Verdict expected = n < 5 ? Verdict.INSUFFICIENT : Verdict.REGRESSED;
+            System.out.printf("%-4s %d/%d verdict %s, expected %s%n", verdict == expected ? "ok" : "FAIL", n, n, verdict, expected);
+            if (verdict != expected) failures++;
+        }
+        if (failures > 0) System.exit(1);
+    }
+
+    private static int check(String name, double p, double expected) {
+        boolean ok = Math.abs(p - expected) < 1e-12;
+        System.out.printf("%-4s %-14s p %.6f, expected %.6f%n", ok ? "ok" : "FAIL", name, p, expected);
+        return ok ? 0 : 1;
+    }
+
+    private static BenchmarkHistory.Record sample(String label, double timeMs) {
+        return new BenchmarkHistory.Record(0, label, "jmh", "check", "check", 0, "check", timeMs, -1);
+    }
+
+    private static double[] times(List<BenchmarkHistory.Record> records) {
+        return records.stream().mapToDouble(r -> r.timeMs).toArray();
+    }
+
+    // JMH samples carry no cost and are left out.
+    private static double[] costs(List<BenchmarkHistory.Record> records) {
+        return records.stream().filter(r -> !r.source.equals("jmh"))
+                .mapToDouble(r -> r.cost < 0 ? Double.POSITIVE_INFINITY : r.cost).toArray();
+    }
+}
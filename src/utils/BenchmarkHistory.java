@@ -0,0 +1,353 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Append-only local store of benchmark samples, one tab-separated line per timed solve. Lines are only ever
+// added, so the file is a full history that any two labels (builds, versions, branches) can be compared
+// across. Each line is written with a single append, so concurrent writers do not interleave partial lines.
+public class BenchmarkHistory {
+
+    private static final String HEADER = "# maze benchmark history v1\n"
+            + "# timestamp\tlabel\tsource\tsolver\tparams\tmaze\tmachine\ttimeMs\tcost\n";
+    private static final int FIELDS = 9;
+    // Label recorded with each sample; set per build so comparisons can tell versions apart.
+    public static final String DEFAULT_LABEL = System.getProperty("maze.bench.label", "dev");
+
+    private static String fingerprint;
+
+    private final File file;
+
+    // cost is the path cost, or -1 when no path was found or the benchmark has no cost (JMH).
+    public static final class Record {
+        public final long timestamp;
+        public final String label;
+        public final String source;
+        public final String solver;
+        public final String params;
+        public final long mazeHash;
+        public final String machine;
+        public final double timeMs;
+        public final long cost;
+
+        public Record(long timestamp, String label, String source, String solver, String params, long mazeHash,
+                      String machine, double timeMs, long cost) {
+            this.timestamp = timestamp;
+            this.label = clean(label);
+            this.source = clean(source);
+            this.solver = clean(solver);
+            this.params = clean(params);
+            this.mazeHash = mazeHash;
+            this.machine = clean(machine);
+            this.timeMs = timeMs;
+            this.cost = cost;
+        }
+
+        // A sample from this machine, now, under DEFAULT_LABEL.
+        public static Record now(String source, String solver, String params, long mazeHash, double timeMs, long cost) {
+            return new Record(System.currentTimeMillis(), DEFAULT_LABEL, source, solver, params, mazeHash,
+                    machineFingerprint(), timeMs, cost);
+        }
+
+        // Samples are only comparable when everything but the label and the measurements matches.
+        public String key() {
+            return solver + '\t' + params + '\t' + Long.toHexString(mazeHash) + '\t' + machine;
+        }
+
+        String toLine() {
+            return timestamp + "\t" + label + '\t' + source + '\t' + solver + '\t' + params + '\t'
+                    + Long.toHexString(mazeHash) + '\t' + machine + '\t' + timeMs + '\t' + cost + '\n';
+        }
+
+        static Record parse(String line) {
+            String[] f = line.split("\t", -1);
+            if (f.length != FIELDS) throw new IllegalArgumentException("Expected " + FIELDS + " fields: " + line);
+            return new Record(Long.parseLong(f[0]), f[1], f[2], f[3], f[4], Long.parseUnsignedLong(f[5], 16), f[6],
+                    Double.parseDouble(f[7]), Long.parseLong(f[8]));
+        }
+
+        private static String clean(String s) {
+            return s == null || s.isEmpty() ? "-" : s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+    }
+
+    public BenchmarkHistory(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public void append(Record record) throws IOException {
+        append(List.of(record));
+    }
+
+    public synchronized void append(List<Record> records) throws IOException {
+        if (records.isEmpty()) return;
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) parent.mkdirs();
+        StringBuilder sb = new StringBuilder();
+        if (!file.exists() || file.length() == 0) sb.append(HEADER);
+        for (Record record : records) sb.append(record.toLine());
+        try (OutputStream out = new FileOutputStream(file, true)) {
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Every sample in file order. Blank lines and # comments are skipped; a malformed line is an error.
+    public List<Record> read() throws IOException {
+        List<Record> records = new ArrayList<>();
+        if (!file.exists()) return records;
+        try (BufferedReader br = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try {
+                    records.add(Record.parse(line));
+                } catch (RuntimeException e) {
+                    throw new IOException(file + ":" + lineNo + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return records;
+    }
+
+    // Short hash of what makes timings from two machines incomparable: CPU model and count, OS, JVM and heap.
+    public static synchronized String machineFingerprint() {
+        if (fingerprint == null) fingerprint = String.format("%016x", MazeHasher.hash(describeMachine()));
+        return fingerprint;
+    }
+
+    public static String describeMachine() {
+        return String.format("%s | %d cpus | %s %s | %s %s | heap %d MB", cpuModel(),
+                Runtime.getRuntime().availableProcessors(), System.getProperty("os.name"), System.getProperty("os.arch"),
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().maxMemory() >> 20);
+    }
+
+    private static String cpuModel() {
+        File cpuinfo = new File("/proc/cpuinfo");
+        if (cpuinfo.canRead()) {
+            try (BufferedReader br = Files.newBufferedReader(cpuinfo.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (line.startsWith("model name")) return line.substring(line.indexOf(':') + 1).trim();
+                }
+            } catch (IOException e) {
+                // Fall through to the environment.
+            }
+        }
+        String id = System.getenv("PROCESSOR_IDENTIFIER");
+        return id != null ? id : "unknown cpu";
+    }
+
+    // Converts a JMH JSON result file (-rf json) into samples: one per measurement iteration of each fork,
+    // as ms/op. Throughput scores are inverted. The maze hash comes from a "maze" parameter when the benchmark
+    // has one; all other parameters form the params key. JMH results carry no path cost.
+    @SuppressWarnings("unchecked")
+    public static List<Record> importJmh(File json, String label) throws IOException {
+        Object root = JsonReader.parse(new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8));
+        if (!(root instanceof List)) throw new IOException(json + ": expected a JSON array of JMH results");
+        long now = System.currentTimeMillis();
+        String machine = machineFingerprint();
+        List<Record> records = new ArrayList<>();
+        for (Object entry : (List<Object>) root) {
+            Map<String, Object> result = (Map<String, Object>) entry;
+            String benchmark = (String) result.get("benchmark");
+            String mode = (String) result.getOrDefault("mode", "avgt");
+            Map<String, Object> params = new TreeMap<>();
+            if (result.get("params") instanceof Map) params.putAll((Map<String, Object>) result.get("params"));
+            Object maze = params.remove("maze");
+            long mazeHash = maze == null ? 0 : MazeHasher.hash(maze.toString());
+            StringBuilder key = new StringBuilder("mode=").append(mode);
+            for (Map.Entry<String, Object> p : params.entrySet()) key.append('|').append(p.getKey()).append('=').append(p.getValue());
+
+            Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+            String unit = (String) metric.get("scoreUnit");
+            List<Double> samples = new ArrayList<>();
+            if (metric.get("rawData") instanceof List) {
+                for (Object fork : (List<Object>) metric.get("rawData")) {
+                    for (Object value : (List<Object>) fork) samples.add(((Number) value).doubleValue());
+                }
+            }
+            if (samples.isEmpty()) samples.add(((Number) metric.get("score")).doubleValue());
+            for (double score : samples) {
+                records.add(new Record(now, label, "jmh", benchmark, key.toString(), mazeHash, machine,
+                        toMillisPerOp(score, unit), -1));
+            }
+        }
+        return records;
+    }
+
+    static double toMillisPerOp(double score, String unit) {
+        String[] parts = unit.split("/");
+        if (parts.length != 2) throw new IllegalArgumentException("Unsupported JMH unit: " + unit);
+        if (parts[0].equals("ops")) return score == 0 ? Double.POSITIVE_INFINITY : timeUnitMillis(parts[1]) / score;
+        return score * timeUnitMillis(parts[0]);
+    }
+
+    private static double timeUnitMillis(String unit) {
+        switch (unit) {
+            case "ns": return 1e-6;
+            case "us": return 1e-3;
+            case "ms": return 1;
+            case "s": return 1e3;
+            case "min": return 60e3;
+            default: throw new IllegalArgumentException("Unsupported JMH time unit: " + unit);
+        }
+    }
+
+    // Just enough JSON for JMH result files: objects become maps, arrays lists, numbers doubles.
+    private static final class JsonReader {
+        private final String s;
+        private int pos;
+
+        private JsonReader(String s) {
+            this.s = s;
+        }
+
+        static Object parse(String text) throws IOException {
+            JsonReader reader = new JsonReader(text);
+            Object value = reader.value();
+            reader.skipSpace();
+            if (reader.pos != text.length()) throw reader.error("trailing content");
+            return value;
+        }
+
+        private Object value() throws IOException {
+            skipSpace();
+            if (pos >= s.length()) throw error("unexpected end");
+            char ch = s.charAt(pos);
+            switch (ch) {
+                case '{': return object();
+                case '[': return array();
+                case '"': return string();
+                case 't': return literal("true", Boolean.TRUE);
+                case 'f': return literal("false", Boolean.FALSE);
+                case 'n': return literal("null", null);
+                default: return number();
+            }
+        }
+
+        private Map<String, Object> object() throws IOException {
+            Map<String, Object> map = new TreeMap<>();
+            pos++;
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipSpace();
+                if (peek() != '"') throw error("expected a key");
+                String key = string();
+                skipSpace();
+                expect(':');
+                map.put(key, value());
+                skipSpace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() throws IOException {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipSpace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipSpace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < s.length()) {
+                char ch = s.charAt(pos++);
+                if (ch == '"') return sb.toString();
+                if (ch != '\\') {
+                    sb.append(ch);
+                    continue;
+                }
+                if (pos >= s.length()) break;
+                char esc = s.charAt(pos++);
+                switch (esc) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) throw error("bad escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(esc);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private Object literal(String word, Object value) throws IOException {
+            if (!s.startsWith(word, pos)) throw error("unexpected token");
+            pos += word.length();
+            return value;
+        }
+
+        // JMH writes "NaN" and "Infinity" unquoted for undefined errors.
+        private Double number() throws IOException {
+            int start = pos;
+            while (pos < s.length() && "+-0123456789.eEINainfty".indexOf(s.charAt(pos)) >= 0) pos++;
+            try {
+                return Double.valueOf(s.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("bad number");
+            }
+        }
+
+        private char peek() throws IOException {
+            if (pos >= s.length()) throw error("unexpected end");
+            return s.charAt(pos);
+        }
+
+        private void expect(char ch) throws IOException {
+            if (peek() != ch) throw error("expected '" + ch + "'");
+            pos++;
+        }
+
+        private void skipSpace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        private IOException error(String message) {
+            return new IOException("JSON " + message + " at offset " + pos);
+        }
+    }
+}
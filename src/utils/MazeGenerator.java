@@ -0,0 +1,517 @@
+package utils;
+
+import models.Cell;
+import models.Maze;
+import models.RunLengthGrid;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Seeded synthetic mazes for benchmarks. Rooms sit on odd coordinates inside a wall border. The grid is cut
+// into square tiles that are carved independently in parallel and joined along a random spanning tree of
+// tiles, so maze modes stay perfect (before braiding) at any size. Output is produced one band of tiles at a time.
+public class MazeGenerator {
+
+    public enum Algorithm { BACKTRACKER, PRIM, WILSON, OPEN_FIELD }
+
+    public enum WeightDistribution { CONSTANT, UNIFORM, SKEWED, CLUSTERED }
+
+    private static final byte WALL = (byte) 0xFF;
+    private static final int NOISE_SCALE = 32;
+    private static final long BRAID_SALT = 0xB4A1D5EEDL;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+
+    private Algorithm algorithm = Algorithm.BACKTRACKER;
+    private WeightDistribution distribution = WeightDistribution.UNIFORM;
+    private int minWeight = 1;
+    private int maxWeight = 10;
+    private double obstacleDensity = 0.25;
+    private double braiding = 0.0;
+    private int tileSize = 256;
+
+    // Tile spanning tree, built lazily: whether each tile opens into its left / upper neighbour.
+    private boolean[] openLeft;
+    private boolean[] openUp;
+    private int treeTileRows;
+    private int treeTileCols;
+
+    // Even dimensions are rounded down to odd so the outer wall border is always complete.
+    public MazeGenerator(int rows, int cols, long seed) {
+        if (rows < 3 || cols < 3) throw new IllegalArgumentException("Maze must be at least 3x3");
+        this.rows = rows % 2 == 0 ? rows - 1 : rows;
+        this.cols = cols % 2 == 0 ? cols - 1 : cols;
+        this.seed = seed;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public void setWeights(WeightDistribution distribution, int minWeight, int maxWeight) {
+        if (minWeight < 0 || maxWeight < minWeight || maxWeight > TiledMazeStore.MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weights must satisfy 0 <= min <= max <= " + TiledMazeStore.MAX_WEIGHT);
+        }
+        this.distribution = distribution;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    // Fraction of cells turned into walls in OPEN_FIELD mode.
+    public void setObstacleDensity(double obstacleDensity) {
+        this.obstacleDensity = obstacleDensity;
+    }
+
+    // Fraction of remaining inner walls knocked out in maze modes, adding loops so weights matter.
+    public void setBraiding(double braiding) {
+        this.braiding = braiding;
+    }
+
+    // Output depends on tile size as well as the seed; it must be an even power of two.
+    public void setTileSize(int tileSize) {
+        if (tileSize < 4 || Integer.bitCount(tileSize) != 1) throw new IllegalArgumentException("Tile size must be a power of two >= 4");
+        this.tileSize = tileSize;
+        this.openLeft = null;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public Maze generate() {
+        Maze maze = new Maze(rows, cols);
+        forEachBand((r0, height, band) -> {
+            for (int lr = 0; lr < height; lr++) {
+                int r = r0 + lr;
+                for (int c = 0; c < cols; c++) {
+                    Cell cell = new Cell(r, c);
+                    byte v = band[lr * cols + c];
+                    if (v == WALL) cell.isWall = true;
+                    else cell.weight = v & 0xFF;
+                    maze.grid[r][c] = cell;
+                }
+            }
+        });
+        maze.start = maze.grid[1][1];
+        maze.start.isStart = true;
+        maze.start.weight = 0;
+        maze.goal = maze.grid[rows - 2][cols - 2];
+        maze.goal.isGoal = true;
+        maze.goal.weight = 0;
+        return maze;
+    }
+
+    // Same maze as generate(), built band by band into run-length rows without materialising Cells.
+    public RunLengthGrid generateCompressed() {
+        RunLengthGrid.Builder builder = new RunLengthGrid.Builder(cols);
+        int[] row = new int[cols];
+        forEachBand((r0, height, band) -> {
+            for (int lr = 0; lr < height; lr++) {
+                int r = r0 + lr;
+                for (int c = 0; c < cols; c++) {
+                    byte v = band[lr * cols + c];
+                    row[c] = v == WALL ? -1 : v & 0xFF;
+                }
+                if (r == 1) row[1] = 0;
+                if (r == rows - 2) row[cols - 2] = 0;
+                builder.addRow(row, 0);
+            }
+        });
+        return builder.setStart(1, 1).setGoal(rows - 2, cols - 2).build();
+    }
+
+    // MazeParser text format. Rows of a band are formatted in parallel and written in order.
+    public void writeText(File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 20)) {
+            IOException[] failure = new IOException[1];
+            forEachBand((r0, height, band) -> {
+                if (failure[0] != null) return;
+                byte[][] lines = new byte[height][];
+                IntStream.range(0, height).parallel().forEach(lr -> lines[lr] = formatRow(r0 + lr, band, lr * cols));
+                try {
+                    for (byte[] line : lines) out.write(line);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+    }
+
+    public void writeTiled(File file) throws IOException {
+        try (TiledMazeStore store = TiledMazeStore.create(file, rows, cols, tileSize, TiledMazeStore.DEFAULT_RESIDENT_TILES)) {
+            forEachBand((r0, height, band) -> {
+                for (int lr = 0; lr < height; lr++) {
+                    for (int c = 0; c < cols; c++) {
+                        byte v = band[lr * cols + c];
+                        if (v == WALL) store.setWall(r0 + lr, c);
+                        else store.setWeight(r0 + lr, c, v & 0xFF);
+                    }
+                }
+            });
+            store.setWeight(1, 1, 0);
+            store.setWeight(rows - 2, cols - 2, 0);
+            store.setStart(1, 1);
+            store.setGoal(rows - 2, cols - 2);
+        }
+    }
+
+    private interface BandConsumer {
+        void accept(int firstRow, int height, byte[] band);
+    }
+
+    private void forEachBand(BandConsumer consumer) {
+        if (algorithm != Algorithm.OPEN_FIELD && openLeft == null) buildTileTree();
+        int tilesAcross = (cols + tileSize - 1) / tileSize;
+        byte[] band = new byte[tileSize * cols];
+        for (int r0 = 0; r0 < rows; r0 += tileSize) {
+            int height = Math.min(tileSize, rows - r0);
+            int tr = r0 / tileSize;
+            Arrays.fill(band, 0, height * cols, WALL);
+            IntStream.range(0, tilesAcross).parallel().forEach(tc -> fillTile(band, tr, tc, height));
+            consumer.accept(r0, height, band);
+        }
+    }
+
+    private void fillTile(byte[] band, int tr, int tc, int height) {
+        int r0 = tr * tileSize, c0 = tc * tileSize;
+        int width = Math.min(tileSize, cols - c0);
+
+        if (algorithm == Algorithm.OPEN_FIELD) {
+            long threshold = (long) (obstacleDensity * (1L << 53));
+            for (int lr = 0; lr < height; lr++) {
+                int r = r0 + lr;
+                for (int lc = 0; lc < width; lc++) {
+                    int c = c0 + lc;
+                    boolean border = r == 0 || c == 0 || r == rows - 1 || c == cols - 1;
+                    boolean endpoint = (r == 1 && c == 1) || (r == rows - 2 && c == cols - 2);
+                    boolean obstacle = (cellHash(r, c, 0x5EED) >>> 11) < threshold;
+                    band[lr * cols + c] = border || (obstacle && !endpoint) ? WALL : weightAt(r, c);
+                }
+            }
+            return;
+        }
+
+        // Rooms inside this tile: odd local coordinates that stay clear of the outer border.
+        int roomRows = Math.min(height, rows - 1 - r0) / 2;
+        int roomCols = Math.min(width, cols - 1 - c0) / 2;
+        if (roomRows <= 0 || roomCols <= 0) return;
+
+        SplittableRandom rand = new SplittableRandom(mix(seed ^ (((long) tr << 32) | tc) * 0x9E3779B97F4A7C15L));
+        TileCarver carver = new TileCarver(band, cols, c0, roomRows, roomCols);
+        switch (algorithm) {
+            case PRIM: carver.prim(rand); break;
+            case WILSON: carver.wilson(rand); break;
+            default: carver.backtracker(rand); break;
+        }
+
+        int tile = tr * treeTileCols + tc;
+        if (tc > 0 && openLeft[tile]) {
+            int i = (int) Long.remainderUnsigned(cellHash(tr, tc, 0x1EF7), roomRows);
+            band[(2 * i + 1) * cols + c0] = 0;
+        }
+        if (tr > 0 && openUp[tile]) {
+            int j = (int) Long.remainderUnsigned(cellHash(tr, tc, 0x0B0E), roomCols);
+            carver.openTop(2 * j + 1);
+        }
+        if (braiding > 0) {
+            // Its own stream, so braiding a maze does not change how it was carved.
+            carver.braid(braiding, new SplittableRandom(mix(seed ^ BRAID_SALT ^ (((long) tr << 32) | tc) * 0x9E3779B97F4A7C15L)));
+        }
+
+        for (int lr = 0; lr < height; lr++) {
+            int base = lr * cols + c0;
+            for (int lc = 0; lc < width; lc++) {
+                if (band[base + lc] != WALL) band[base + lc] = weightAt(r0 + lr, c0 + lc);
+            }
+        }
+    }
+
+    // Random spanning tree over the room-bearing tiles (iterative DFS), so every tile is reachable exactly once.
+    private void buildTileTree() {
+        treeTileRows = (rows - 1 + tileSize - 1) / tileSize;
+        treeTileCols = (cols - 1 + tileSize - 1) / tileSize;
+        int count = treeTileRows * treeTileCols;
+        openLeft = new boolean[count];
+        openUp = new boolean[count];
+        boolean[] visited = new boolean[count];
+        int[] stack = new int[count];
+        int top = 0;
+        SplittableRandom rand = new SplittableRandom(seed);
+        stack[top++] = 0;
+        visited[0] = true;
+        int[] options = new int[4];
+        while (top > 0) {
+            int t = stack[top - 1];
+            int tr = t / treeTileCols, tc = t % treeTileCols;
+            int n = 0;
+            for (int d = 0; d < 4; d++) {
+                int nr = tr + DR[d], nc = tc + DC[d];
+                if (nr >= 0 && nr < treeTileRows && nc >= 0 && nc < treeTileCols && !visited[nr * treeTileCols + nc]) options[n++] = d;
+            }
+            if (n == 0) {
+                top--;
+                continue;
+            }
+            int d = options[rand.nextInt(n)];
+            int next = (tr + DR[d]) * treeTileCols + (tc + DC[d]);
+            if (d == 0) openUp[t] = true;
+            else if (d == 1) openUp[next] = true;
+            else if (d == 2) openLeft[t] = true;
+            else openLeft[next] = true;
+            visited[next] = true;
+            stack[top++] = next;
+        }
+    }
+
+    // Depends only on the seed and global coordinates, never on tiling or thread scheduling.
+    private byte weightAt(int r, int c) {
+        int span = maxWeight - minWeight;
+        switch (distribution) {
+            case CONSTANT:
+                return (byte) minWeight;
+            case SKEWED: {
+                double u = ((cellHash(r, c, 0x3E16) >>> 11) + 1) * 0x1.0p-53;
+                double mean = Math.max(1.0, span / 4.0);
+                return (byte) (minWeight + Math.min(span, (int) (-Math.log(u) * mean)));
+            }
+            case CLUSTERED: {
+                int gr = r / NOISE_SCALE, gc = c / NOISE_SCALE;
+                double fr = (r % NOISE_SCALE) / (double) NOISE_SCALE, fc = (c % NOISE_SCALE) / (double) NOISE_SCALE;
+                double v00 = lattice(gr, gc), v01 = lattice(gr, gc + 1), v10 = lattice(gr + 1, gc), v11 = lattice(gr + 1, gc + 1);
+                double top = v00 + (v01 - v00) * fc, bottom = v10 + (v11 - v10) * fc;
+                return (byte) (minWeight + Math.min(span, (int) ((top + (bottom - top) * fr) * (span + 1))));
+            }
+            default:
+                return (byte) (minWeight + Long.remainderUnsigned(cellHash(r, c, 0x3E16), span + 1));
+        }
+    }
+
+    private double lattice(int gr, int gc) {
+        return (cellHash(gr, gc, 0x4015E) >>> 11) * 0x1.0p-53;
+    }
+
+    private long cellHash(int r, int c, long salt) {
+        return mix(seed + salt * 0xD1B54A32D192ED03L + (((long) r << 32) | (c & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private byte[] formatRow(int r, byte[] band, int offset) {
+        byte[] line = new byte[cols * 5 + 1];
+        int n = 0;
+        for (int c = 0; c < cols; c++) {
+            byte v = band[offset + c];
+            if (v == WALL) {
+                line[n++] = '#';
+            } else if (r == 1 && c == 1) {
+                line[n++] = 'S';
+            } else if (r == rows - 2 && c == cols - 2) {
+                line[n++] = 'G';
+            } else {
+                int w = v & 0xFF;
+                line[n++] = '"';
+                if (w >= 100) line[n++] = (byte) ('0' + w / 100);
+                if (w >= 10) line[n++] = (byte) ('0' + w / 10 % 10);
+                line[n++] = (byte) ('0' + w % 10);
+                line[n++] = '"';
+            }
+        }
+        line[n++] = '\n';
+        return Arrays.copyOf(line, n);
+    }
+
+    // Carves a perfect maze over a tile's room grid, writing straight into the shared band buffer.
+    private static final class TileCarver {
+        private final byte[] band;
+        private final int stride;
+        private final int c0;
+        private final int roomRows;
+        private final int roomCols;
+
+        TileCarver(byte[] band, int stride, int c0, int roomRows, int roomCols) {
+            this.band = band;
+            this.stride = stride;
+            this.c0 = c0;
+            this.roomRows = roomRows;
+            this.roomCols = roomCols;
+        }
+
+        private void open(int lr, int lc) {
+            band[lr * stride + c0 + lc] = 0;
+        }
+
+        private void openRoom(int room) {
+            open(2 * (room / roomCols) + 1, 2 * (room % roomCols) + 1);
+        }
+
+        private void openBetween(int room, int d) {
+            open(2 * (room / roomCols) + 1 + DR[d], 2 * (room % roomCols) + 1 + DC[d]);
+        }
+
+        private int neighbour(int room, int d) {
+            int i = room / roomCols + DR[d], j = room % roomCols + DC[d];
+            return i < 0 || i >= roomRows || j < 0 || j >= roomCols ? -1 : i * roomCols + j;
+        }
+
+        void openTop(int lc) {
+            open(0, lc);
+        }
+
+        void backtracker(SplittableRandom rand) {
+            boolean[] visited = new boolean[roomRows * roomCols];
+            int[] stack = new int[visited.length];
+            int[] options = new int[4];
+            int top = 0;
+            int first = rand.nextInt(visited.length);
+            stack[top++] = first;
+            visited[first] = true;
+            openRoom(first);
+            while (top > 0) {
+                int room = stack[top - 1];
+                int n = 0;
+                for (int d = 0; d < 4; d++) {
+                    int next = neighbour(room, d);
+                    if (next >= 0 && !visited[next]) options[n++] = d;
+                }
+                if (n == 0) {
+                    top--;
+                    continue;
+                }
+                int d = options[rand.nextInt(n)];
+                int next = neighbour(room, d);
+                openBetween(room, d);
+                openRoom(next);
+                visited[next] = true;
+                stack[top++] = next;
+            }
+        }
+
+        // Randomised Prim's: grow from one room by opening a random frontier edge each step.
+        void prim(SplittableRandom rand) {
+            boolean[] inMaze = new boolean[roomRows * roomCols];
+            int[] frontier = new int[inMaze.length * 4];
+            int size = 0;
+            int first = rand.nextInt(inMaze.length);
+            inMaze[first] = true;
+            openRoom(first);
+            for (int d = 0; d < 4; d++) if (neighbour(first, d) >= 0) frontier[size++] = first * 4 + d;
+            while (size > 0) {
+                int pick = rand.nextInt(size);
+                int edge = frontier[pick];
+                frontier[pick] = frontier[--size];
+                int room = edge >> 2, d = edge & 3;
+                int next = neighbour(room, d);
+                if (inMaze[next]) continue;
+                openBetween(room, d);
+                openRoom(next);
+                inMaze[next] = true;
+                for (int nd = 0; nd < 4; nd++) {
+                    int other = neighbour(next, nd);
+                    if (other >= 0 && !inMaze[other]) frontier[size++] = next * 4 + nd;
+                }
+            }
+        }
+
+        // Wilson's: loop-erased random walks, giving a uniformly random spanning tree.
+        void wilson(SplittableRandom rand) {
+            int count = roomRows * roomCols;
+            boolean[] inTree = new boolean[count];
+            byte[] exit = new byte[count];
+            int root = rand.nextInt(count);
+            inTree[root] = true;
+            openRoom(root);
+            int[] options = new int[4];
+            for (int startRoom = 0; startRoom < count; startRoom++) {
+                if (inTree[startRoom]) continue;
+                // The last exit taken from each room overwrites earlier ones, which erases loops implicitly.
+                int room = startRoom;
+                while (!inTree[room]) {
+                    int n = 0;
+                    for (int d = 0; d < 4; d++) if (neighbour(room, d) >= 0) options[n++] = d;
+                    int d = options[rand.nextInt(n)];
+                    exit[room] = (byte) d;
+                    room = neighbour(room, d);
+                }
+                room = startRoom;
+                while (!inTree[room]) {
+                    inTree[room] = true;
+                    openRoom(room);
+                    openBetween(room, exit[room]);
+                    room = neighbour(room, exit[room]);
+                }
+            }
+        }
+
+        void braid(double probability, SplittableRandom rand) {
+            long threshold = (long) (probability * (1L << 53));
+            for (int room = 0; room < roomRows * roomCols; room++) {
+                for (int d = 1; d <= 3; d += 2) {
+                    if (neighbour(room, d) < 0) continue;
+                    if ((rand.nextLong() >>> 11) < threshold) openBetween(room, d);
+                }
+            }
+        }
+    }
+
+    // Usage: MazeGenerator <rows> <cols> <out-file> [--algorithm backtracker|prim|wilson|open_field] [--seed N]
+    //        [--weights constant|uniform|skewed|clustered] [--min N] [--max N] [--density D] [--braid P]
+    //        [--tile N] [--binary]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: MazeGenerator <rows> <cols> <out-file> [options]");
+        }
+        long seed = 1;
+        boolean binary = false;
+        Algorithm algorithm = Algorithm.BACKTRACKER;
+        WeightDistribution weights = WeightDistribution.UNIFORM;
+        int min = 1, max = 10, tile = 256;
+        double density = 0.25, braid = 0.0;
+        for (int i = 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "--algorithm": algorithm = Algorithm.valueOf(args[++i].toUpperCase()); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--weights": weights = WeightDistribution.valueOf(args[++i].toUpperCase()); break;
+                case "--min": min = Integer.parseInt(args[++i]); break;
+                case "--max": max = Integer.parseInt(args[++i]); break;
+                case "--density": density = Double.parseDouble(args[++i]); break;
+                case "--braid": braid = Double.parseDouble(args[++i]); break;
+                case "--tile": tile = Integer.parseInt(args[++i]); break;
+                case "--binary": binary = true; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        MazeGenerator generator = new MazeGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]), seed);
+        generator.setAlgorithm(algorithm);
+        generator.setWeights(weights, min, max);
+        generator.setObstacleDensity(density);
+        generator.setBraiding(braid);
+        generator.setTileSize(tile);
+
+        long startTime = System.nanoTime();
+        File out = new File(args[2]);
+        if (binary) generator.writeTiled(out);
+        else generator.writeText(out);
+        System.out.printf("Generated %dx%d %s maze in %.2f s -> %s%n", generator.getRows(), generator.getCols(),
+                algorithm, (System.nanoTime() - startTime) / 1e9, out);
+    }
+}
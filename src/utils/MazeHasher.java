@@ -0,0 +1,46 @@
+package utils;
+
+import models.Cell;
+import models.Maze;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+public class MazeHasher {
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    // 64-bit content hash over dimensions, walls, weights, start and goal. Rows are hashed in parallel.
+    public static long hash(Maze maze) {
+        long[] rowHashes = new long[maze.rows];
+        IntStream.range(0, maze.rows).parallel().forEach(r -> {
+            long h = r;
+            Cell[] row = maze.grid[r];
+            for (int c = 0; c < maze.cols; c++) {
+                h = h * MULTIPLIER + (row[c].isWall ? -1 : row[c].weight);
+            }
+            rowHashes[r] = mix(h);
+        });
+
+        long h = mix(((long) maze.rows << 32) | maze.cols);
+        for (long rowHash : rowHashes) h = mix(h * MULTIPLIER + rowHash);
+        if (maze.start != null) h = mix(h * MULTIPLIER + ((long) maze.start.row << 32 | maze.start.col));
+        if (maze.goal != null) h = mix(h * MULTIPLIER + ((long) maze.goal.row << 32 | maze.goal.col));
+        return h;
+    }
+
+    public static long hash(String text) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
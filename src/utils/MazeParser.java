@@ -2,11 +2,14 @@ package utils;
 
 import models.Cell;
 import models.Maze;
+import models.RunLengthGrid;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -16,9 +19,19 @@ public class MazeParser {
     private static final Pattern CELL_PATTERN = Pattern.compile("\"(\\d+)\"|S|G|#");
 
     public static Maze parseMaze(File file) throws IOException {
+        return parseMaze(new FileReader(file), file.getPath());
+    }
+
+    // Closes the reader. Used for mazes that arrive over the network rather than from disk.
+    public static Maze parseMaze(Reader reader) throws IOException {
+        return parseMaze(reader, "stream");
+    }
+
+    private static Maze parseMaze(Reader reader, String source) throws IOException {
+        SolverEvents.MazeLoad event = SolverEvents.mazeLoad(source);
         List<String> lines = new ArrayList<>();
         
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader br = new BufferedReader(reader)) {
             String line;
             while ((line = br.readLine()) != null) {
                 if (!line.trim().isEmpty()) {
@@ -36,6 +49,7 @@ public class MazeParser {
         while (m.find()) cols++;
 
         Maze maze = new Maze(rows, cols);
+        long walls = 0;
 
         for (int r = 0; r < rows; r++) {
             String line = lines.get(r);
@@ -48,6 +62,7 @@ public class MazeParser {
 
                 if (token.equals("#")) {
                     cell.isWall = true;
+                    walls++;
                 } else if (token.equals("S")) {
                     cell.isStart = true;
                     maze.start = cell;
@@ -64,7 +79,61 @@ public class MazeParser {
                 c++;
             }
         }
-        
+
+        event.finish(rows, cols, walls);
         return maze;
     }
-}
\ No newline at end of file
+
+    // Streams the file straight into run-length rows without building Cells or holding the text, so large
+    // open maps load in a fraction of the Maze's memory. Short rows are padded with walls.
+    public static RunLengthGrid parseCompressed(File file) throws IOException {
+        SolverEvents.MazeLoad event = SolverEvents.mazeLoad(file.getPath());
+        RunLengthGrid.Builder builder = null;
+        int[] row = null;
+        int cols = 0;
+        long walls = 0;
+        boolean hasStart = false, hasGoal = false;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file), 1 << 16)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                Matcher matcher = CELL_PATTERN.matcher(line);
+                if (builder == null) {
+                    while (matcher.find()) cols++;
+                    matcher.reset();
+                    builder = new RunLengthGrid.Builder(cols);
+                    row = new int[cols];
+                }
+                int r = builder.rowCount();
+                Arrays.fill(row, -1);
+                int c = 0;
+                while (matcher.find() && c < cols) {
+                    String token = matcher.group();
+                    if (token.equals("#")) {
+                        walls++;
+                    } else if (token.equals("S")) {
+                        row[c] = 0;
+                        builder.setStart(r, c);
+                        hasStart = true;
+                    } else if (token.equals("G")) {
+                        row[c] = 0;
+                        builder.setGoal(r, c);
+                        hasGoal = true;
+                    } else {
+                        row[c] = Integer.parseInt(matcher.group(1));
+                    }
+                    c++;
+                }
+                walls += cols - c;
+                builder.addRow(row, 0);
+            }
+        }
+
+        if (builder == null) throw new IOException("File is empty");
+        if (!hasStart || !hasGoal) throw new IOException("Maze needs both S and G");
+        RunLengthGrid grid = builder.build();
+        event.finish(grid.rowCount(), cols, walls);
+        return grid;
+    }
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Two-level cache of solved paths (as row-major cell indices): a byte-bounded LRU in memory and an optional directory on disk.
+public class SolveCache {
+
+    private static final int FILE_MAGIC = 0x4D524331;
+
+    private final long maxBytes;
+    private final File diskDir;
+    private final LinkedHashMap<String, int[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+
+    public SolveCache(long maxBytes, File diskDir) {
+        this.maxBytes = maxBytes;
+        this.diskDir = diskDir;
+        if (diskDir != null) diskDir.mkdirs();
+    }
+
+    public static String key(long mazeHash, String solverConfig) {
+        return String.format("%016x-%016x", mazeHash, MazeHasher.hash(solverConfig));
+    }
+
+    public synchronized int[] get(String key) {
+        int[] path = memory.get(key);
+        if (path != null) {
+            hits++;
+            return path;
+        }
+        path = readFromDisk(key);
+        if (path != null) {
+            diskHits++;
+            putInMemory(key, path);
+            return path;
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String key, int[] path) {
+        putInMemory(key, path);
+        writeToDisk(key, path);
+    }
+
+    public synchronized void clear() {
+        memory.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized String statsLine() {
+        return String.format("Cache: %d entries, %.1f KB | hits %d (disk %d) | misses %d",
+                memory.size(), usedBytes / 1024.0, hits + diskHits, diskHits, misses);
+    }
+
+    private void putInMemory(String key, int[] path) {
+        long size = entryBytes(key, path);
+        if (size > maxBytes) return;
+        int[] old = memory.put(key, path);
+        if (old != null) usedBytes -= entryBytes(key, old);
+        usedBytes += size;
+
+        Iterator<Map.Entry<String, int[]>> it = memory.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, int[]> eldest = it.next();
+            usedBytes -= entryBytes(eldest.getKey(), eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long entryBytes(String key, int[] path) {
+        return 64L + key.length() * 2L + path.length * 4L;
+    }
+
+    private int[] readFromDisk(String key) {
+        if (diskDir == null) return null;
+        File f = new File(diskDir, key + ".path");
+        if (!f.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            if (in.readInt() != FILE_MAGIC || !in.readUTF().equals(key)) return null;
+            int[] path = new int[in.readInt()];
+            for (int i = 0; i < path.length; i++) path[i] = in.readInt();
+            return path;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, int[] path) {
+        if (diskDir == null) return;
+        File tmp = new File(diskDir, key + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeUTF(key);
+            out.writeInt(path.length);
+            for (int v : path) out.writeInt(v);
+        } catch (IOException e) {
+            tmp.delete();
+            return;
+        }
+        File target = new File(diskDir, key + ".path");
+        if (!tmp.renameTo(target)) {
+            target.delete();
+            tmp.renameTo(target);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR events for the load -> preprocess -> solve -> reconstruct pipeline. All are disabled by default, so
+// an unprofiled run pays only for an event allocation the JIT removes; profiling/maze-solver.jfc turns them on.
+// Usage: start an event, do the work, then finish(...) fills in the counts and commits if recording.
+public final class SolverEvents {
+
+    private SolverEvents() {
+    }
+
+    public static MazeLoad mazeLoad(String source) {
+        MazeLoad event = new MazeLoad();
+        event.source = source;
+        event.begin();
+        return event;
+    }
+
+    public static Preprocess preprocess(String owner, String step) {
+        Preprocess event = new Preprocess();
+        event.owner = owner;
+        event.step = step;
+        event.begin();
+        return event;
+    }
+
+    public static SolverPhase phase(String solver, String phase) {
+        SolverPhase event = new SolverPhase();
+        event.solver = solver;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public static GenerationPhase generation(String solver, String phase, int generation) {
+        GenerationPhase event = new GenerationPhase();
+        event.solver = solver;
+        event.phase = phase;
+        event.generation = generation;
+        event.begin();
+        return event;
+    }
+
+    public static PathReconstruction reconstruction(String solver) {
+        PathReconstruction event = new PathReconstruction();
+        event.solver = solver;
+        event.begin();
+        return event;
+    }
+
+    @Name("maze.MazeLoad")
+    @Label("Maze Load")
+    @Category({"Maze Solver", "Input"})
+    @Description("Parsing a maze file or upload")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class MazeLoad extends Event {
+        @Label("Source")
+        String source;
+        @Label("Rows")
+        int rows;
+        @Label("Columns")
+        int cols;
+        @Label("Cells")
+        long cells;
+        @Label("Walls")
+        long walls;
+
+        public void finish(int rows, int cols, long walls) {
+            end();
+            if (!shouldCommit()) return;
+            this.rows = rows;
+            this.cols = cols;
+            this.cells = (long) rows * cols;
+            this.walls = walls;
+            commit();
+        }
+    }
+
+    @Name("maze.Preprocess")
+    @Label("Preprocessing")
+    @Category({"Maze Solver", "Preprocessing"})
+    @Description("Maze-dependent setup that later solves reuse: landmark tables, cluster graphs, flattened maps")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Preprocess extends Event {
+        @Label("Owner")
+        String owner;
+        @Label("Step")
+        String step;
+        @Label("Cells")
+        long cells;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        public void finish(long cells, long bytes) {
+            end();
+            if (!shouldCommit()) return;
+            this.cells = cells;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    @Name("maze.SolverPhase")
+    @Label("Solver Phase")
+    @Category({"Maze Solver", "Search"})
+    @Description("One phase of a solve: init allocates and fills working arrays, search expands nodes")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class SolverPhase extends Event {
+        @Label("Solver")
+        String solver;
+        @Label("Phase")
+        String phase;
+        @Label("Cells")
+        long cells;
+        @Label("Expanded")
+        long expanded;
+
+        public void finish(long cells, long expanded) {
+            end();
+            if (!shouldCommit()) return;
+            this.cells = cells;
+            this.expanded = expanded;
+            commit();
+        }
+    }
+
+    @Name("maze.GenerationPhase")
+    @Label("GA Generation Phase")
+    @Category({"Maze Solver", "Genetic"})
+    @Description("Evaluate, select or breed step of one GA generation")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class GenerationPhase extends Event {
+        @Label("Solver")
+        String solver;
+        @Label("Phase")
+        String phase;
+        @Label("Generation")
+        int generation;
+        @Label("Individuals")
+        int individuals;
+
+        public void finish(int individuals) {
+            end();
+            if (!shouldCommit()) return;
+            this.individuals = individuals;
+            commit();
+        }
+    }
+
+    @Name("maze.PathReconstruction")
+    @Label("Path Reconstruction")
+    @Category({"Maze Solver", "Search"})
+    @Description("Turning parent links or genes into the returned path")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class PathReconstruction extends Event {
+        @Label("Solver")
+        String solver;
+        @Label("Path Length")
+        int length;
+
+        public void finish(int length) {
+            end();
+            if (!shouldCommit()) return;
+            this.length = length;
+            commit();
+        }
+    }
+}
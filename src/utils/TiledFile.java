@@ -0,0 +1,176 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+// A file of fixed-size tiles cached in a fixed pool of maxResident direct buffers. Tiles are read into a free
+// buffer on demand and written back on eviction if they were handed out for writing; the victim is chosen
+// with CLOCK (second-chance), a cheap LRU approximation that needs no per-access bookkeeping beyond one flag.
+// The pool is allocated once, so neither the heap nor the number of memory mappings grows with the file
+// and nothing waits on the GC to release a tile. Not thread-safe.
+public class TiledFile implements Closeable {
+
+    // SCRATCH is writable but never forced to disk: its contents only matter while the file is open.
+    public enum Access { READ_ONLY, READ_WRITE, SCRATCH }
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final boolean writable;
+    private final boolean durable;
+    private final long headerBytes;
+    private final int tileBytes;
+
+    // Pool buffer holding each tile, or null; and per pool slot, its buffer, tile and dirty flag.
+    private final ByteBuffer[] resident;
+    private final boolean[] referenced;
+    private final ByteBuffer[] pool;
+    private final int[] slots;
+    private final boolean[] dirty;
+    private final int[] slotOf;
+    private int residentCount;
+    private int hand;
+
+    private long tileLoads;
+
+    public TiledFile(File path, long headerBytes, int tileBytes, int tileCount, int maxResident, Access access)
+            throws IOException {
+        this.writable = access != Access.READ_ONLY;
+        this.file = new RandomAccessFile(path, writable ? "rw" : "r");
+        this.channel = file.getChannel();
+        this.durable = access == Access.READ_WRITE;
+        this.headerBytes = headerBytes;
+        this.tileBytes = tileBytes;
+        this.resident = new ByteBuffer[tileCount];
+        this.referenced = new boolean[tileCount];
+        this.slotOf = new int[tileCount];
+        int poolSize = Math.max(1, Math.min(Math.min(maxResident, tileCount), poolLimit(tileBytes)));
+        this.pool = new ByteBuffer[poolSize];
+        this.slots = new int[poolSize];
+        this.dirty = new boolean[poolSize];
+
+        long required = headerBytes + (long) tileBytes * tileCount;
+        if (writable && file.length() < required) file.setLength(required);
+        if (file.length() < required) throw new IOException("Tiled file is truncated: " + path);
+    }
+
+    // Pools come out of direct memory (-XX:MaxDirectMemorySize, which defaults to -Xmx), and a solve keeps two
+    // files open: a maze and its scratch state. Each pool is capped at a third of the limit so both fit with
+    // room to spare; raise the limit for a larger resident set.
+    static int poolLimit(int tileBytes) {
+        long limit = Runtime.getRuntime().maxMemory();
+        HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        if (hotspot != null) {
+            long configured = Long.parseLong(hotspot.getVMOption("MaxDirectMemorySize").getValue());
+            if (configured > 0) limit = configured;
+        }
+        return (int) Math.max(4, Math.min(Integer.MAX_VALUE, limit / 3 / tileBytes));
+    }
+
+    // For reading; writes through this buffer may be lost on eviction.
+    public ByteBuffer tile(int tileId) {
+        ByteBuffer buffer = resident[tileId];
+        if (buffer == null) buffer = load(tileId);
+        referenced[tileId] = true;
+        return buffer;
+    }
+
+    // For reading and writing; the tile is written back when it leaves the pool.
+    public ByteBuffer tileForWrite(int tileId) {
+        if (!writable) throw new IllegalStateException("Tiled file is read-only");
+        ByteBuffer buffer = tile(tileId);
+        dirty[slotOf[tileId]] = true;
+        return buffer;
+    }
+
+    public long getTileLoads() {
+        return tileLoads;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+
+    public FileChannel channel() {
+        return channel;
+    }
+
+    private ByteBuffer load(int tileId) {
+        int slot;
+        if (residentCount < slots.length) {
+            slot = residentCount++;
+            pool[slot] = ByteBuffer.allocateDirect(tileBytes);
+        } else {
+            while (referenced[slots[hand]]) {
+                referenced[slots[hand]] = false;
+                hand = (hand + 1) % slots.length;
+            }
+            slot = hand;
+            evict(slot);
+            hand = (hand + 1) % slots.length;
+        }
+
+        ByteBuffer buffer = pool[slot];
+        buffer.clear();
+        try {
+            long position = headerBytes + (long) tileId * tileBytes;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Tiled file is truncated");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+        resident[tileId] = buffer;
+        slots[slot] = tileId;
+        slotOf[tileId] = slot;
+        dirty[slot] = false;
+        tileLoads++;
+        return buffer;
+    }
+
+    private void evict(int slot) {
+        int tileId = slots[slot];
+        writeBack(slot);
+        resident[tileId] = null;
+        referenced[tileId] = false;
+    }
+
+    private void writeBack(int slot) {
+        if (!dirty[slot]) return;
+        ByteBuffer buffer = pool[slot].duplicate();
+        buffer.clear();
+        long position = headerBytes + (long) slots[slot] * tileBytes;
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer, position + buffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dirty[slot] = false;
+    }
+
+    public void flush() throws IOException {
+        if (!durable) return;
+        for (int i = 0; i < residentCount; i++) writeBack(i);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            for (int i = 0; i < residentCount; i++) resident[slots[i]] = null;
+            residentCount = 0;
+            channel.close();
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package utils;
+
+import models.Cell;
+import models.GridStore;
+import models.Maze;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Out-of-core maze: one byte per cell (weight 0..254, 255 = wall) in square power-of-two tiles stored
+// tile-major in a TiledFile, so only the tiles a solver touches are read into its fixed direct-buffer pool.
+public class TiledMazeStore implements GridStore, Closeable {
+
+    public static final int DEFAULT_TILE_SIZE = 256;
+    public static final int DEFAULT_RESIDENT_TILES = 1024;
+    public static final int MAX_WEIGHT = 254;
+
+    private static final int FILE_MAGIC = 0x4D54494C;
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final byte WALL = (byte) 0xFF;
+
+    private final TiledFile tiles;
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final int tileShift;
+    private final int tilesAcross;
+    private int startRow, startCol, goalRow, goalCol;
+
+    private TiledMazeStore(TiledFile tiles, int rows, int cols, int tileSize) {
+        this.tiles = tiles;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.tileShift = Integer.numberOfTrailingZeros(tileSize);
+        this.tilesAcross = (cols + tileSize - 1) / tileSize;
+    }
+
+    // New cells start open with weight 0; start and goal default to opposite corners.
+    public static TiledMazeStore create(File file, int rows, int cols, int tileSize, int maxResidentTiles) throws IOException {
+        if (Integer.bitCount(tileSize) != 1) throw new IllegalArgumentException("Tile size must be a power of two");
+        long tileCount = tileCount(rows, cols, tileSize);
+        if (tileCount > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many tiles");
+        file.delete();
+        TiledFile tiles = new TiledFile(file, HEADER_BYTES, tileSize * tileSize, (int) tileCount, maxResidentTiles,
+                TiledFile.Access.READ_WRITE);
+        TiledMazeStore store = new TiledMazeStore(tiles, rows, cols, tileSize);
+        store.setStart(0, 0);
+        store.setGoal(rows - 1, cols - 1);
+        return store;
+    }
+
+    public static TiledMazeStore open(File file, int maxResidentTiles, boolean writable) throws IOException {
+        int rows, cols, tileSize;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("Not a tiled maze: " + file);
+            if (in.readInt() != FILE_VERSION) throw new IOException("Unsupported tiled maze version: " + file);
+            rows = in.readInt();
+            cols = in.readInt();
+            tileSize = in.readInt();
+            TiledMazeStore store = new TiledMazeStore(new TiledFile(file, HEADER_BYTES, tileSize * tileSize,
+                    (int) tileCount(rows, cols, tileSize), maxResidentTiles,
+                    writable ? TiledFile.Access.READ_WRITE : TiledFile.Access.READ_ONLY), rows, cols, tileSize);
+            store.startRow = in.readInt();
+            store.startCol = in.readInt();
+            store.goalRow = in.readInt();
+            store.goalCol = in.readInt();
+            return store;
+        }
+    }
+
+    public static TiledMazeStore fromMaze(Maze maze, File file, int tileSize) throws IOException {
+        SolverEvents.Preprocess event = SolverEvents.preprocess("TiledMazeStore", "tiling");
+        TiledMazeStore store = create(file, maze.rows, maze.cols, tileSize, DEFAULT_RESIDENT_TILES);
+        for (int r = 0; r < maze.rows; r++) {
+            for (int c = 0; c < maze.cols; c++) {
+                Cell cell = maze.grid[r][c];
+                if (cell.isWall) store.setWall(r, c);
+                else store.setWeight(r, c, cell.weight);
+            }
+        }
+        store.setStart(maze.start.row, maze.start.col);
+        store.setGoal(maze.goal.row, maze.goal.col);
+        event.finish((long) maze.rows * maze.cols, file.length());
+        return store;
+    }
+
+    private static long tileCount(int rows, int cols, int tileSize) {
+        return (long) ((rows + tileSize - 1) / tileSize) * ((cols + tileSize - 1) / tileSize);
+    }
+
+    @Override
+    public int rowCount() {
+        return rows;
+    }
+
+    @Override
+    public int colCount() {
+        return cols;
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    public long getTileLoads() {
+        return tiles.getTileLoads();
+    }
+
+    @Override
+    public int weight(int row, int col) {
+        int v = tileFor(row, col).get(localIndex(row, col)) & 0xFF;
+        return v == 0xFF ? -1 : v;
+    }
+
+    public void setWeight(int row, int col, int weight) {
+        if (weight < 0 || weight > MAX_WEIGHT) throw new IllegalArgumentException("Weight out of range: " + weight);
+        tileForWrite(row, col).put(localIndex(row, col), (byte) weight);
+    }
+
+    public void setWall(int row, int col) {
+        tileForWrite(row, col).put(localIndex(row, col), WALL);
+    }
+
+    public void setStart(int row, int col) {
+        startRow = row;
+        startCol = col;
+    }
+
+    public void setGoal(int row, int col) {
+        goalRow = row;
+        goalCol = col;
+    }
+
+    @Override
+    public int startRow() {
+        return startRow;
+    }
+
+    @Override
+    public int startCol() {
+        return startCol;
+    }
+
+    @Override
+    public int goalRow() {
+        return goalRow;
+    }
+
+    @Override
+    public int goalCol() {
+        return goalCol;
+    }
+
+    private ByteBuffer tileFor(int row, int col) {
+        return tiles.tile((row >>> tileShift) * tilesAcross + (col >>> tileShift));
+    }
+
+    private ByteBuffer tileForWrite(int row, int col) {
+        return tiles.tileForWrite((row >>> tileShift) * tilesAcross + (col >>> tileShift));
+    }
+
+    private int localIndex(int row, int col) {
+        return ((row & (tileSize - 1)) << tileShift) | (col & (tileSize - 1));
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(rows).putInt(cols).putInt(tileSize)
+                .putInt(startRow).putInt(startCol).putInt(goalRow).putInt(goalCol);
+        header.rewind();
+        tiles.channel().write(header, 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tiles.isWritable()) writeHeader();
+        tiles.close();
+    }
+}